@@ -0,0 +1,17 @@
+package com.appointment_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaEntryDTO {
+    private Long appointmentId;
+    private LocalDateTime appointmentTime;
+    private Long patientId;
+    private String status;
+}
@@ -0,0 +1,16 @@
+package com.appointment_service.DTO;
+
+import com.appointment_service.entity.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentPageDTO {
+    private List<Appointment> appointments;
+    private String nextCursor; // null when this is the last page
+}
@@ -0,0 +1,26 @@
+package com.appointment_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResultDTO {
+    private int created;
+    private int rejected;
+    private List<RowResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private int row; // zero-based position in the request body
+        private Long appointmentId;
+        private String status; // "CREATED" or "REJECTED"
+        private String message;
+    }
+}
@@ -0,0 +1,16 @@
+package com.appointment_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookedSlotDTO {
+    private Long doctorId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,15 @@
+package com.appointment_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
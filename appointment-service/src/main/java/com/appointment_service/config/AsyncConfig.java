@@ -0,0 +1,32 @@
+package com.appointment_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+    @Value("${appointment.validation.pool-size:16}")
+    private int poolSize;
+
+    @Value("${appointment.validation.queue-capacity:200}")
+    private int queueCapacity;
+
+    /**
+     * Bounded pool for the remote user/doctor checks issued in parallel while
+     * booking. The caller's Authorization header is captured at submit time so
+     * Feign calls on the worker thread carry it.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor validationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("validation-");
+        executor.setTaskDecorator(task -> FeignConfig.withAuthorization(FeignConfig.currentAuthorization(), task));
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,10 @@
+package com.appointment_service.config;
+
+import java.time.Instant;
+
+/**
+ * Identity extracted from a verified JWT by {@link JwtAuthenticationFilter} and
+ * stored as the authentication principal, so the token is parsed once per request.
+ */
+public record AuthenticatedUser(Long id, String role, Instant expiresAt) {
+}
@@ -24,6 +24,7 @@ public class CorsConfig {
         config.setAllowedHeaders(Arrays.asList("*"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE",
                 "OPTIONS", "PATCH"));
+        config.setExposedHeaders(List.of("X-Next-Cursor"));
 
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
@@ -2,6 +2,9 @@ package com.appointment_service.config;
 
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -9,16 +12,43 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Configuration
 public class FeignConfig {
+    // Authorization header handed to worker threads that make Feign calls on
+    // behalf of a request (see AsyncConfig), where RequestContextHolder is empty.
+    private static final ThreadLocal<String> propagatedAuthorization = new ThreadLocal<>();
+
     @Bean
     public RequestInterceptor requestInterceptor() {
         return template -> {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
-                    .getRequestAttributes();
-            if (attributes != null) {
-                String authHeader = attributes.getRequest().getHeader("Authorization");
-                if (authHeader != null) {
-                    template.header("Authorization", authHeader);
-                }
+            String authHeader = currentAuthorization();
+            if (authHeader != null) {
+                template.header("Authorization", authHeader);
+            }
+        };
+    }
+
+    /** Closes pooled connections that have sat idle longer than the configured limit. */
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer idleConnectionEviction(
+            @Value("${feign.pool.idle-eviction-seconds:30}") long idleEvictionSeconds) {
+        return builder -> builder.evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds));
+    }
+
+    public static String currentAuthorization() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
+                .getRequestAttributes();
+        if (attributes != null) {
+            return attributes.getRequest().getHeader("Authorization");
+        }
+        return propagatedAuthorization.get();
+    }
+
+    public static Runnable withAuthorization(String authHeader, Runnable task) {
+        return () -> {
+            propagatedAuthorization.set(authHeader);
+            try {
+                task.run();
+            } finally {
+                propagatedAuthorization.remove();
             }
         };
     }
@@ -1,39 +1,57 @@
 package com.appointment_service.config;
 
+import com.appointment_service.service.BookingMetrics;
 import com.appointment_service.util.JwtUtil;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
-@Component
+// Not a @Component: Boot would also register a bean as a servlet filter and the
+// token would be verified twice. SecurityConfig adds the only instance.
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BOOKING_PATH = "/api/appointments";
     private final JwtUtil jwtUtil;
+    private final BookingMetrics bookingMetrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
+            // Token parsing and signature checks are the auth phase of a booking.
+            boolean booking = "POST".equals(request.getMethod()) && BOOKING_PATH.equals(request.getServletPath());
+            Timer.Sample authPhase = booking ? bookingMetrics.start() : null;
             String token = header.substring(7);
             try {
                 Claims claims = jwtUtil.validateToken(token);
-                String username = claims.getSubject();
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(username, null, null);
+                Number id = claims.get("id", Number.class);
+                String role = claims.get("role", String.class);
+                AuthenticatedUser user = new AuthenticatedUser(id != null ? id.longValue() : null, role,
+                        claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null,
+                        role != null ? Collections.singletonList(new SimpleGrantedAuthority(role))
+                                : Collections.emptyList());
                 SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (Exception e) {
                 SecurityContextHolder.clearContext();
+            } finally {
+                if (authPhase != null) {
+                    bookingMetrics.stop(authPhase, BookingMetrics.AUTH);
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
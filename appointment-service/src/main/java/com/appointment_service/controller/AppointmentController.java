@@ -1,19 +1,30 @@
 package com.appointment_service.controller;
 
+import com.appointment_service.DTO.AgendaEntryDTO;
+import com.appointment_service.DTO.AppointmentPageDTO;
+import com.appointment_service.DTO.BatchBookingResultDTO;
+import com.appointment_service.DTO.BookedSlotDTO;
+import com.appointment_service.DTO.FreeSlotDTO;
+import com.appointment_service.config.AuthenticatedUser;
 import com.appointment_service.entity.Appointment;
+import com.appointment_service.exception.UnauthorizedException;
+import com.appointment_service.service.AppointmentBatchService;
 import com.appointment_service.service.AppointmentService;
-import com.appointment_service.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,10 +33,7 @@ import java.util.List;
 public class AppointmentController {
     private static final Logger logger = LoggerFactory.getLogger(AppointmentController.class);
     private final AppointmentService appointmentService;
-    @Autowired
-    private JwtUtil jwtUtil;
-    @Autowired
-    private HttpServletRequest request;
+    private final AppointmentBatchService appointmentBatchService;
 
     @PostMapping
     @PreAuthorize("hasAuthority('PATIENT')")
@@ -40,15 +48,30 @@ public class AppointmentController {
         return new ResponseEntity<>(savedAppointment, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Import appointments", description = "Books many appointments for the authenticated doctor and reports per-row results")
+    public ResponseEntity<BatchBookingResultDTO> bookAppointments(@RequestBody List<Appointment> appointments) {
+        Long userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+        logger.info("Received request to import {} appointments for doctor ID: {}", appointments.size(), userId);
+        BatchBookingResultDTO result = appointmentBatchService.bookAppointments(appointments, userId, role);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @GetMapping("/me")
     @PreAuthorize("hasAnyAuthority('PATIENT', 'DOCTOR')")
-    @Operation(summary = "Get my appointments", description = "Returns appointments for the authenticated user")
-    public ResponseEntity<List<Appointment>> getMyAppointments() {
+    @Operation(summary = "Get my appointments", description = "Returns the authenticated user's appointments, oldest first; with a cursor or limit, returns one page and puts the next page's cursor in the X-Next-Cursor header")
+    public ResponseEntity<List<Appointment>> getMyAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Long userId = getCurrentUserId();
         String role = getCurrentUserRole();
         logger.info("Received request to get appointments for user ID: {}", userId);
-        List<Appointment> appointments = appointmentService.getUserAppointments(userId, role);
-        return new ResponseEntity<>(appointments, HttpStatus.OK);
+        AppointmentPageDTO page = appointmentService.getUserAppointments(userId, role, from, to, cursor, limit);
+        return toPageResponse(page);
     }
 
     @GetMapping("/{id}")
@@ -73,44 +96,96 @@ public class AppointmentController {
     }
 
     @GetMapping("/doctor/{doctorId}")
-    @Operation(summary = "Get doctor's appointments", description = "Returns all appointments for a specific doctor")
-    public ResponseEntity<List<Appointment>> getDoctorAppointments(@PathVariable Long doctorId) {
+    @Operation(summary = "Get doctor's appointments", description = "Returns a doctor's appointments, oldest first; with a cursor or limit, returns one page and puts the next page's cursor in the X-Next-Cursor header")
+    public ResponseEntity<List<Appointment>> getDoctorAppointments(@PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         logger.info("Received request to get appointments for doctor ID: {}", doctorId);
-        List<Appointment> appointments = appointmentService.getDoctorAppointments(doctorId);
-        return new ResponseEntity<>(appointments, HttpStatus.OK);
+        AppointmentPageDTO page = appointmentService.getDoctorAppointments(doctorId, from, to, cursor, limit);
+        return toPageResponse(page);
+    }
+
+    @GetMapping("/doctor/{doctorId}/patient-ids")
+    @Operation(summary = "Get doctor's patient IDs", description = "Returns the distinct IDs of patients who have an appointment with the doctor")
+    public ResponseEntity<List<Long>> getDoctorPatientIds(@PathVariable Long doctorId) {
+        logger.info("Received request to get patient IDs for doctor ID: {}", doctorId);
+        List<Long> patientIds = appointmentService.getDoctorPatientIds(doctorId);
+        return new ResponseEntity<>(patientIds, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/doctor/{doctorId}/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export doctor's appointments", description = "Streams all appointments for a doctor as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportDoctorAppointments(@PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Received request to export appointments for doctor ID: {}", doctorId);
+        StreamingResponseBody body = out -> appointmentService.exportDoctorAppointments(doctorId, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/doctor/{doctorId}/agenda")
+    @Operation(summary = "Get doctor's day agenda", description = "Returns a doctor's appointments on one day, ordered by time")
+    public ResponseEntity<List<AgendaEntryDTO>> getDoctorAgenda(@PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.info("Received request to get agenda for doctor ID: {} on {}", doctorId, date);
+        List<AgendaEntryDTO> agenda = appointmentService.getDoctorAgenda(doctorId, date);
+        return new ResponseEntity<>(agenda, HttpStatus.OK);
+    }
+
+    @GetMapping("/doctor/{doctorId}/free-slots")
+    @Operation(summary = "Get doctor's free slots", description = "Returns gaps of the given length between a doctor's bookings within a time range, ignoring working hours (doctor-service's /api/doctors/{id}/free-slots is authoritative for availability); ranges spanning more than appointment.free-slots.max-slots slots are rejected")
+    public ResponseEntity<List<FreeSlotDTO>> getDoctorFreeSlots(@PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "30") int duration) {
+        logger.info("Received request to get free slots for doctor ID: {}", doctorId);
+        List<FreeSlotDTO> slots = appointmentService.getDoctorFreeSlots(doctorId, from, to, duration);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+
+    @GetMapping("/booked-slots")
+    @Operation(summary = "Get booked slots", description = "Returns the booked intervals of several doctors within a time range")
+    public ResponseEntity<List<BookedSlotDTO>> getBookedSlots(@RequestParam List<Long> doctorIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Received request to get booked slots for doctor IDs: {}", doctorIds);
+        List<BookedSlotDTO> slots = appointmentService.getBookedSlots(doctorIds, from, to);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+
+    private ResponseEntity<List<Appointment>> toPageResponse(AppointmentPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getAppointments());
     }
 
     private Long getCurrentUserId() {
-        String header = request.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
-            try {
-                var claims = jwtUtil.validateToken(token);
-                Object idObj = claims.get("id");
-                if (idObj != null) {
-                    return Long.valueOf(idObj.toString());
-                }
-            } catch (Exception e) {
-                logger.error("Failed to parse JWT for user id", e);
-            }
+        Long id = getCurrentUser().id();
+        if (id == null) {
+            throw new UnauthorizedException("User ID not found in JWT");
         }
-        throw new RuntimeException("User ID not found in JWT");
+        return id;
     }
 
     private String getCurrentUserRole() {
-        String header = request.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
-            try {
-                var claims = jwtUtil.validateToken(token);
-                Object roleObj = claims.get("role");
-                if (roleObj != null) {
-                    return roleObj.toString();
-                }
-            } catch (Exception e) {
-                logger.error("Failed to parse JWT for user role", e);
-            }
+        String role = getCurrentUser().role();
+        if (role == null) {
+            throw new UnauthorizedException("User role not found in JWT");
+        }
+        return role;
+    }
+
+    private AuthenticatedUser getCurrentUser() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new UnauthorizedException("User is not authenticated");
         }
-        throw new RuntimeException("User role not found in JWT");
+        return user;
     }
 }
\ No newline at end of file
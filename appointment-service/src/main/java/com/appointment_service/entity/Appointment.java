@@ -1,16 +1,26 @@
 package com.appointment_service.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_doctor_time", columnList = "doctor_id, appointment_time"),
+        @Index(name = "idx_appointments_patient_time", columnList = "patient_id, appointment_time")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_appointments_doctor_slot",
+                columnNames = { "doctor_id", "appointment_time", "slot_active" })
+})
 @Data
 public class Appointment {
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so bulk inserts can
+    // be JDBC-batched; AppointmentIdSequenceInitializer keeps it past existing ids.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,4 +35,15 @@ public class Appointment {
     private String status; // e.g., "SCHEDULED", "COMPLETED", "CANCELLED"
 
     private String notes;
-}
\ No newline at end of file
+
+    // TRUE while the appointment holds its slot and NULL once cancelled, so the
+    // unique key only covers live bookings (MySQL allows repeated NULLs).
+    @JsonIgnore
+    private Boolean slotActive;
+
+    @PrePersist
+    @PreUpdate
+    void syncSlotActive() {
+        slotActive = "CANCELLED".equals(status) ? null : Boolean.TRUE;
+    }
+}
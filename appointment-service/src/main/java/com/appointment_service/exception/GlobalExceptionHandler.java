@@ -16,4 +16,19 @@ public class GlobalExceptionHandler {
    public ResponseEntity<String> handleUnauthorized(UnauthorizedException ex) {
        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNAUTHORIZED);
    }
+
+   @ExceptionHandler(SlotConflictException.class)
+   public ResponseEntity<String> handleSlotConflict(SlotConflictException ex) {
+       return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+   }
+
+   @ExceptionHandler(ServiceUnavailableException.class)
+   public ResponseEntity<String> handleServiceUnavailable(ServiceUnavailableException ex) {
+       return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+   }
+
+   @ExceptionHandler(IllegalArgumentException.class)
+   public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
+       return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+   }
 }
\ No newline at end of file
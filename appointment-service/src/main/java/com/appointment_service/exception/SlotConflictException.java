@@ -0,0 +1,7 @@
+package com.appointment_service.exception;
+
+public class SlotConflictException extends RuntimeException {
+    public SlotConflictException(String message) {
+        super(message);
+    }
+}
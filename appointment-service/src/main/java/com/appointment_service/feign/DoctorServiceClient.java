@@ -4,7 +4,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
-@FeignClient(name = "doctor-service", url = "${doctor.service.url}")
+@FeignClient(name = "doctor-service", path = "/api/doctors")
 public interface DoctorServiceClient {
     @GetMapping("/{doctorId}")
     Object getDoctorById(@PathVariable("doctorId") Long doctorId);
@@ -1,13 +1,64 @@
 package com.appointment_service.repository;
 
+import com.appointment_service.DTO.AgendaEntryDTO;
 import com.appointment_service.entity.Appointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
     List<Appointment> findByPatientId(Long patientId);
     List<Appointment> findByDoctorId(Long doctorId);
+    List<Appointment> findByAppointmentTimeGreaterThanEqual(LocalDateTime from);
+
+    // Live bookings of the doctor starting strictly between 'from' and 'to', other than excludeId.
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentTime > :from "
+            + "AND a.appointmentTime < :to AND (a.status IS NULL OR a.status <> 'CANCELLED') "
+            + "AND (:excludeId IS NULL OR a.id <> :excludeId)")
+    boolean existsBookingBetween(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to, @Param("excludeId") Long excludeId);
+
+    @Query("SELECT DISTINCT a.patientId FROM Appointment a WHERE a.doctorId = :doctorId AND a.patientId IS NOT NULL")
+    List<Long> findPatientIdsByDoctorId(@Param("doctorId") Long doctorId);
+
+    // Keyset pages ordered by (appointmentTime, id), starting strictly after the
+    // (afterTime, afterId) cursor and ending before 'to'.
+    @Query("SELECT a FROM Appointment a WHERE a.patientId = :patientId AND a.appointmentTime < :to "
+            + "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) "
+            + "ORDER BY a.appointmentTime, a.id")
+    List<Appointment> findPatientPage(@Param("patientId") Long patientId, @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId, @Param("to") LocalDateTime to, Limit limit);
+
+    @Query("SELECT a FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentTime < :to "
+            + "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) "
+            + "ORDER BY a.appointmentTime, a.id")
+    List<Appointment> findDoctorPage(@Param("doctorId") Long doctorId, @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId, @Param("to") LocalDateTime to, Limit limit);
+
+    @Query("SELECT new com.appointment_service.DTO.AgendaEntryDTO(a.id, a.appointmentTime, a.patientId, a.status) "
+            + "FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentTime >= :from "
+            + "AND a.appointmentTime < :to ORDER BY a.appointmentTime, a.id")
+    List<AgendaEntryDTO> findAgenda(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // Forward-only cursor: a fetch size of Integer.MIN_VALUE makes MySQL
+    // Connector/J stream rows instead of buffering the whole result set.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentTime >= :from "
+            + "AND a.appointmentTime < :to ORDER BY a.appointmentTime, a.id")
+    Stream<Appointment> streamDoctorAppointments(@Param("doctorId") Long doctorId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
\ No newline at end of file
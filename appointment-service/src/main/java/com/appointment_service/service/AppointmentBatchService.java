@@ -0,0 +1,167 @@
+package com.appointment_service.service;
+
+import com.appointment_service.DTO.BatchBookingResultDTO;
+import com.appointment_service.DTO.BatchBookingResultDTO.RowResult;
+import com.appointment_service.entity.Appointment;
+import com.appointment_service.exception.ResourceNotFoundException;
+import com.appointment_service.exception.UnauthorizedException;
+import com.appointment_service.feign.DoctorServiceClient;
+import com.appointment_service.feign.UserServiceClient;
+import com.appointment_service.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Bulk import of a doctor's schedule. Each distinct patient is validated once,
+ * and accepted rows are inserted in chunks, each chunk in its own transaction so
+ * Hibernate can JDBC-batch the inserts (see the pooled id generator on
+ * {@link Appointment}).
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentBatchService.class);
+    private final AppointmentRepository appointmentRepository;
+    private final UserServiceClient userServiceClient;
+    private final DoctorServiceClient doctorServiceClient;
+    private final ExistenceCache existenceCache;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final DoctorAgenda doctorAgenda;
+    private final DoctorLocks doctorLocks;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${appointment.batch.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${appointment.batch.chunk-size:500}")
+    private int chunkSize;
+
+    public BatchBookingResultDTO bookAppointments(List<Appointment> appointments, Long doctorId, String role) {
+        logger.info("Batch booking {} appointments for doctor ID: {}", appointments.size(), doctorId);
+        if (!role.equals("DOCTOR")) {
+            throw new UnauthorizedException("Only doctors can import appointments");
+        }
+        if (appointments.size() > maxRows) {
+            throw new IllegalArgumentException("A batch may contain at most " + maxRows + " appointments");
+        }
+        if (!exists(doctorId, true)) {
+            throw new ResourceNotFoundException("Doctor not found with ID: " + doctorId);
+        }
+
+        List<RowResult> results = new ArrayList<>(appointments.size());
+        Map<Long, Boolean> patients = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int row = 0; row < appointments.size(); row++) {
+            Appointment appointment = appointments.get(row);
+            String problem = validateRow(appointment, doctorId, patients);
+            if (problem != null) {
+                results.add(new RowResult(row, null, "REJECTED", problem));
+                continue;
+            }
+            appointment.setId(null);
+            appointment.setDoctorId(doctorId);
+            appointment.setStatus("SCHEDULED");
+            candidates.add(row);
+        }
+
+        // Hold the doctor's lock for the whole import so single bookings cannot
+        // take a slot between the conflict check and the insert.
+        int created = doctorLocks.withLock(doctorId, () -> saveFreeSlots(appointments, candidates, doctorId, results));
+
+        results.sort(Comparator.comparingInt(RowResult::getRow));
+        logger.info("Batch booking for doctor ID: {} created {} and rejected {} appointments", doctorId, created,
+                appointments.size() - created);
+        return new BatchBookingResultDTO(created, appointments.size() - created, results);
+    }
+
+    private int saveFreeSlots(List<Appointment> appointments, List<Integer> candidates, Long doctorId,
+            List<RowResult> results) {
+        Duration slot = doctorScheduleIndex.getSlotDuration();
+        NavigableSet<LocalDateTime> taken = new TreeSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (Integer row : candidates) {
+            LocalDateTime time = appointments.get(row).getAppointmentTime();
+            LocalDateTime before = taken.floor(time);
+            LocalDateTime after = taken.ceiling(time);
+            boolean overlapsBatch = (before != null && before.plus(slot).isAfter(time))
+                    || (after != null && time.plus(slot).isAfter(after));
+            if (overlapsBatch || !doctorScheduleIndex.isSlotFree(doctorId, time, null)) {
+                results.add(new RowResult(row, null, "REJECTED", "Doctor is not available at " + time));
+                continue;
+            }
+            taken.add(time);
+            accepted.add(row);
+        }
+
+        int created = 0;
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            List<Integer> rows = accepted.subList(start, Math.min(start + chunkSize, accepted.size()));
+            List<Appointment> chunk = rows.stream().map(appointments::get).toList();
+            List<Appointment> saved;
+            try {
+                saved = transactionTemplate.execute(status -> appointmentRepository.saveAll(chunk));
+            } catch (DataIntegrityViolationException e) {
+                // Another node booked one of these slots; the chunk was rolled back.
+                logger.warn("Slot conflict while importing appointments for doctor ID: {}", doctorId, e);
+                chunk.forEach(appointment -> appointment.setId(null));
+                rows.forEach(row -> results.add(new RowResult(row, null, "REJECTED",
+                        "Slot conflict in this chunk; retry these rows")));
+                continue;
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                Appointment appointment = saved.get(i);
+                doctorScheduleIndex.update(appointment);
+                doctorAgenda.update(appointment);
+                results.add(new RowResult(rows.get(i), appointment.getId(), "CREATED", null));
+            }
+            created += rows.size();
+        }
+        return created;
+    }
+
+    private String validateRow(Appointment appointment, Long doctorId, Map<Long, Boolean> patients) {
+        if (appointment == null) {
+            return "Empty row";
+        }
+        if (appointment.getDoctorId() != null && !appointment.getDoctorId().equals(doctorId)) {
+            return "Doctors can only import their own appointments";
+        }
+        if (appointment.getAppointmentTime() == null) {
+            return "Appointment time is required";
+        }
+        if (appointment.getPatientId() == null) {
+            return "Patient ID is required";
+        }
+        boolean patientExists = patients.computeIfAbsent(appointment.getPatientId(), id -> exists(id, false));
+        if (!patientExists) {
+            return "User not found with ID: " + appointment.getPatientId();
+        }
+        return null;
+    }
+
+    private boolean exists(Long id, boolean doctor) {
+        try {
+            return doctor
+                    ? existenceCache.doctorExists(id, doctorServiceClient::getDoctorById)
+                    : existenceCache.userExists(id, userServiceClient::getUserById);
+        } catch (Exception e) {
+            logger.warn("Could not validate {} ID: {}", doctor ? "doctor" : "user", id, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.appointment_service.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the appointments id sequence table past the highest existing id, so
+ * rows created while the id column was AUTO_INCREMENT are never reissued.
+ * Relies on the pooled-lo optimizer, where the stored value is the next id.
+ * Runs once every singleton, including the JPA schema, is initialized and
+ * before the web server accepts requests.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentIdSequenceInitializer implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentIdSequenceInitializer.class);
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long nextId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM appointments", Long.class);
+        int updated = jdbcTemplate.update("UPDATE appointments_seq SET next_val = ? WHERE next_val < ?", nextId,
+                nextId);
+        if (updated > 0) {
+            logger.info("Advanced appointments_seq to {}", nextId);
+        }
+    }
+}
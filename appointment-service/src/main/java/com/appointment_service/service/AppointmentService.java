@@ -1,26 +1,73 @@
 package com.appointment_service.service;
 
+import com.appointment_service.DTO.AgendaEntryDTO;
+import com.appointment_service.DTO.AppointmentPageDTO;
+import com.appointment_service.DTO.BookedSlotDTO;
+import com.appointment_service.DTO.FreeSlotDTO;
 import com.appointment_service.entity.Appointment;
 import com.appointment_service.repository.AppointmentRepository;
 import com.appointment_service.exception.ResourceNotFoundException;
+import com.appointment_service.exception.ServiceUnavailableException;
 import com.appointment_service.exception.UnauthorizedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.appointment_service.feign.UserServiceClient;
 import com.appointment_service.feign.DoctorServiceClient;
+import com.appointment_service.util.CursorUtil;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentService {
     private static final Logger logger = LoggerFactory.getLogger(AppointmentService.class);
+    // Open range bounds, kept inside MySQL's DATETIME range.
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
     private final AppointmentRepository appointmentRepository;
     private final UserServiceClient userServiceClient;
     private final DoctorServiceClient doctorServiceClient;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final DoctorAgenda doctorAgenda;
+    private final ExistenceCache existenceCache;
+    private final ThreadPoolTaskExecutor validationExecutor;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final BookingMetrics bookingMetrics;
+    private final DoctorSlotGuard doctorSlotGuard;
+
+    @Value("${appointment.validation.timeout-ms:3000}")
+    private long validationTimeoutMs;
+
+    @Value("${appointment.page.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${appointment.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${appointment.free-slots.max-slots:1000}")
+    private long maxFreeSlots;
 
     public Appointment bookAppointment(Appointment appointment, String role) {
         logger.info("Booking appointment for patient ID: {} with doctor ID: {}",
@@ -31,21 +78,26 @@ public class AppointmentService {
         }
 
         // Validate patient and doctor existence
-        validateUser(appointment.getPatientId());
-        validateDoctor(appointment.getDoctorId());
+        bookingMetrics.record(BookingMetrics.VALIDATION,
+                () -> validateUserAndDoctor(appointment.getPatientId(), appointment.getDoctorId()));
 
-        // Check doctor availability (simplified check; could integrate with Doctor
-        // Service)
+        // Check doctor availability and save under the doctor's lock
         appointment.setStatus("SCHEDULED");
-        return appointmentRepository.save(appointment);
+        return doctorSlotGuard.reserve(appointment,
+                toSave -> bookingMetrics.record(BookingMetrics.DB_SAVE, () -> appointmentRepository.save(toSave)));
     }
 
-    public List<Appointment> getUserAppointments(Long userId, String role) {
+    public AppointmentPageDTO getUserAppointments(Long userId, String role, LocalDateTime from, LocalDateTime to,
+            String cursor, Integer limit) {
         logger.info("Fetching appointments for user ID: {}", userId);
         if (role.equals("PATIENT")) {
-            return appointmentRepository.findByPatientId(userId);
+            return fetchPage(from, to, cursor, limit,
+                    (afterTime, afterId, end, max) -> appointmentRepository.findPatientPage(userId, afterTime,
+                            afterId, end, max));
         } else if (role.equals("DOCTOR")) {
-            return appointmentRepository.findByDoctorId(userId);
+            return fetchPage(from, to, cursor, limit,
+                    (afterTime, afterId, end, max) -> appointmentRepository.findDoctorPage(userId, afterTime,
+                            afterId, end, max));
         } else {
             throw new UnauthorizedException("Invalid role for fetching appointments");
         }
@@ -68,37 +120,173 @@ public class AppointmentService {
         appointment.setAppointmentTime(updatedAppointment.getAppointmentTime());
         appointment.setStatus(updatedAppointment.getStatus());
         appointment.setNotes(updatedAppointment.getNotes());
-        return appointmentRepository.save(appointment);
+        return doctorSlotGuard.reserve(appointment, appointmentRepository::save);
     }
 
-    public List<Appointment> getDoctorAppointments(Long doctorId) {
+    public AppointmentPageDTO getDoctorAppointments(Long doctorId, LocalDateTime from, LocalDateTime to,
+            String cursor, Integer limit) {
         logger.info("Fetching appointments for doctor ID: {}", doctorId);
         validateDoctor(doctorId);
-        return appointmentRepository.findByDoctorId(doctorId);
-        
+        return fetchPage(from, to, cursor, limit,
+                (afterTime, afterId, end, max) -> appointmentRepository.findDoctorPage(doctorId, afterTime, afterId,
+                        end, max));
+    }
+
+    /** IDs of every patient who has booked with the doctor, each listed once. */
+    public List<Long> getDoctorPatientIds(Long doctorId) {
+        logger.info("Fetching patient IDs for doctor ID: {}", doctorId);
+        validateDoctor(doctorId);
+        return appointmentRepository.findPatientIdsByDoctorId(doctorId);
+    }
+
+    // Paging is opt-in: without a cursor or limit the whole range comes back in one response.
+    private AppointmentPageDTO fetchPage(LocalDateTime from, LocalDateTime to, String cursor, Integer limit,
+            PageQuery query) {
+        if (cursor == null && limit == null) {
+            return new AppointmentPageDTO(query.fetch(from != null ? from : MIN_TIME, Long.MIN_VALUE,
+                    to != null ? to : MAX_TIME, Limit.unlimited()), null);
+        }
+        int size = limit == null ? defaultPageSize : limit;
+        if (size <= 0 || size > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        LocalDateTime afterTime = from != null ? from : MIN_TIME;
+        Long afterId = Long.MIN_VALUE; // first page includes rows at exactly 'from'
+        if (cursor != null) {
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            if (!position.time().isBefore(afterTime)) {
+                afterTime = position.time();
+                afterId = position.id();
+            }
+        }
+        LocalDateTime end = to != null ? to : MAX_TIME;
+
+        // Fetch one extra row to learn whether another page follows.
+        List<Appointment> rows = query.fetch(afterTime, afterId, end, Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return new AppointmentPageDTO(rows, null);
+        }
+        List<Appointment> page = rows.subList(0, size);
+        Appointment last = page.get(size - 1);
+        return new AppointmentPageDTO(page, CursorUtil.encode(last.getAppointmentTime(), last.getId()));
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<Appointment> fetch(LocalDateTime afterTime, Long afterId, LocalDateTime to, Limit limit);
+    }
+
+    /**
+     * Writes a doctor's appointments to {@code out} as NDJSON, one row at a time
+     * from a streaming cursor. Each entity is detached once written so heap use
+     * stays flat regardless of row count.
+     */
+    @Transactional(readOnly = true)
+    public long exportDoctorAppointments(Long doctorId, LocalDateTime from, LocalDateTime to, OutputStream out)
+            throws IOException {
+        logger.info("Exporting appointments for doctor ID: {}", doctorId);
+        long count = 0;
+        OutputStream buffered = new BufferedOutputStream(out);
+        try (Stream<Appointment> appointments = appointmentRepository.streamDoctorAppointments(doctorId,
+                from != null ? from : MIN_TIME, to != null ? to : MAX_TIME)) {
+            for (Appointment appointment : (Iterable<Appointment>) appointments::iterator) {
+                buffered.write(objectMapper.writeValueAsBytes(appointment));
+                buffered.write('\n');
+                entityManager.detach(appointment);
+                count++;
+            }
+        }
+        buffered.flush();
+        logger.info("Exported {} appointments for doctor ID: {}", count, doctorId);
+        return count;
+    }
+
+    public List<AgendaEntryDTO> getDoctorAgenda(Long doctorId, LocalDate date) {
+        logger.info("Fetching agenda for doctor ID: {} on {}", doctorId, date);
+        return doctorAgenda.getAgenda(doctorId, date);
+    }
+
+    public List<BookedSlotDTO> getBookedSlots(List<Long> doctorIds, LocalDateTime from, LocalDateTime to) {
+        logger.info("Fetching booked slots for {} doctors between {} and {}", doctorIds.size(), from, to);
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        return doctorScheduleIndex.findBookedSlots(doctorIds, from, to);
+    }
+
+    /**
+     * Gaps between the doctor's bookings, with no notion of working hours.
+     * Patient-facing availability comes from doctor-service, which also
+     * applies the doctor's weekly template and overrides.
+     */
+    public List<FreeSlotDTO> getDoctorFreeSlots(Long doctorId, LocalDateTime from, LocalDateTime to,
+            int durationMinutes) {
+        logger.info("Finding free slots for doctor ID: {} between {} and {}", doctorId, from, to);
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be a positive number of minutes");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        if (Duration.between(from, to).toMinutes() / durationMinutes > maxFreeSlots) {
+            throw new IllegalArgumentException("Range spans more than " + maxFreeSlots
+                    + " slots; narrow it or use a longer duration");
+        }
+        return doctorScheduleIndex.findFreeSlots(doctorId, from, to, Duration.ofMinutes(durationMinutes));
+    }
+
+    private void validateUserAndDoctor(Long userId, Long doctorId) {
+        CompletableFuture<Void> user;
+        CompletableFuture<Void> doctor;
+        try {
+            user = CompletableFuture.runAsync(
+                    () -> bookingMetrics.record(BookingMetrics.USER_VALIDATION, () -> validateUser(userId)),
+                    validationExecutor);
+            doctor = CompletableFuture.runAsync(
+                    () -> bookingMetrics.record(BookingMetrics.DOCTOR_VALIDATION, () -> validateDoctor(doctorId)),
+                    validationExecutor);
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException("Too many bookings are being validated; try again shortly");
+        }
+        try {
+            CompletableFuture.allOf(user, doctor).get(validationTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // Only the wait is abandoned: the Feign calls run on until their own read timeout.
+            throw new ServiceUnavailableException("Timed out validating patient and doctor");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while validating patient and doctor");
+        }
     }
 
     private void validateUser(Long userId) {
         logger.info("Validating user ID: {} with User Service", userId);
+        boolean exists;
         try {
-            Object user = userServiceClient.getUserById(userId);
-            if (user == null) {
-                throw new ResourceNotFoundException("User not found with ID: " + userId);
-            }
+            exists = existenceCache.userExists(userId, userServiceClient::getUserById);
         } catch (Exception e) {
             throw new ResourceNotFoundException("User not found with ID: " + userId);
         }
+        if (!exists) {
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
     }
 
     private void validateDoctor(Long doctorId) {
         logger.info("Validating doctor ID: {} with Doctor Service", doctorId);
+        boolean exists;
         try {
-            Object doctor = doctorServiceClient.getDoctorById(doctorId);
-            if (doctor == null) {
-                throw new ResourceNotFoundException("Doctor not found with ID: " + doctorId);
-            }
+            exists = existenceCache.doctorExists(doctorId, doctorServiceClient::getDoctorById);
         } catch (Exception e) {
             throw new ResourceNotFoundException("Doctor not found with ID: " + doctorId);
         }
+        if (!exists) {
+            throw new ResourceNotFoundException("Doctor not found with ID: " + doctorId);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.appointment_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Timers with percentile histograms for each phase of booking an appointment,
+ * published as {@code booking.phase{phase=...}}.
+ */
+@Component
+public class BookingMetrics {
+    public static final String AUTH = "auth";
+    public static final String USER_VALIDATION = "user_validation";
+    public static final String DOCTOR_VALIDATION = "doctor_validation";
+    public static final String VALIDATION = "validation"; // wall time of the concurrent checks
+    public static final String DB_SAVE = "db_save";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(String phase, Supplier<T> action) {
+        return timer(phase).record(action);
+    }
+
+    public void record(String phase, Runnable action) {
+        timer(phase).record(action);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String phase) {
+        sample.stop(timer(phase));
+    }
+
+    private Timer timer(String phase) {
+        return timers.computeIfAbsent(phase, name -> Timer.builder("booking.phase")
+                .description("Time spent in each phase of booking an appointment")
+                .tag("phase", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,113 @@
+package com.appointment_service.service;
+
+import com.appointment_service.DTO.AgendaEntryDTO;
+import com.appointment_service.entity.Appointment;
+import com.appointment_service.repository.AppointmentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materialized day view per doctor: the day's appointments as compact entries
+ * ordered by time. Days are loaded on first read and afterwards kept current
+ * by {@link #update} on every save, so a read only copies out that day's
+ * entries. Idle days are evicted; the bound and idle time are configurable.
+ * Like {@link DoctorScheduleIndex}, it only sees saves made through this node,
+ * so a cached day misses bookings made on other replicas until it is evicted;
+ * the service assumes a single instance.
+ */
+@Component
+public class DoctorAgenda {
+    private static final Comparator<AgendaEntryDTO> ORDER = Comparator
+            .comparing(AgendaEntryDTO::getAppointmentTime)
+            .thenComparing(AgendaEntryDTO::getAppointmentId);
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorLocks doctorLocks;
+    private final Cache<AgendaKey, List<AgendaEntryDTO>> days;
+    // Day each cached appointment is filed under, so a rescheduled appointment
+    // can be taken off its old day.
+    private final Map<Long, AgendaKey> locations = new ConcurrentHashMap<>();
+
+    public DoctorAgenda(AppointmentRepository appointmentRepository, DoctorLocks doctorLocks,
+            MeterRegistry meterRegistry,
+            @Value("${appointment.agenda.max-days:20000}") long maxDays,
+            @Value("${appointment.agenda.idle-minutes:120}") long idleMinutes) {
+        this.appointmentRepository = appointmentRepository;
+        this.doctorLocks = doctorLocks;
+        this.days = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .<AgendaKey, List<AgendaEntryDTO>>evictionListener((key, entries, cause) -> forget(key, entries))
+                .recordStats()
+                .build(), "doctorAgenda");
+    }
+
+    public List<AgendaEntryDTO> getAgenda(Long doctorId, LocalDate date) {
+        AgendaKey key = new AgendaKey(doctorId, date);
+        List<AgendaEntryDTO> entries = days.getIfPresent(key);
+        if (entries != null) {
+            return entries;
+        }
+        // Cold day: load under the doctor's lock so a booking saved meanwhile
+        // is either in the query result or applied after the load.
+        return doctorLocks.withLock(doctorId, () -> days.get(key, this::load));
+    }
+
+    /**
+     * Files a saved appointment under its day, replacing any earlier version of
+     * it. Must be called under the doctor's lock, after the save.
+     */
+    public void update(Appointment appointment) {
+        Long id = appointment.getId();
+        AgendaKey key = new AgendaKey(appointment.getDoctorId(), appointment.getAppointmentTime().toLocalDate());
+        AgendaKey previous = locations.get(id);
+        if (previous != null && !previous.equals(key)) {
+            days.asMap().computeIfPresent(previous, (day, entries) -> without(entries, id));
+            locations.remove(id, previous);
+        }
+        AgendaEntryDTO entry = new AgendaEntryDTO(id, appointment.getAppointmentTime(), appointment.getPatientId(),
+                appointment.getStatus());
+        days.asMap().computeIfPresent(key, (day, entries) -> {
+            locations.put(id, day);
+            List<AgendaEntryDTO> updated = new ArrayList<>(without(entries, id));
+            int index = Collections.binarySearch(updated, entry, ORDER);
+            updated.add(index < 0 ? -index - 1 : index, entry);
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    private List<AgendaEntryDTO> load(AgendaKey key) {
+        List<AgendaEntryDTO> entries = appointmentRepository.findAgenda(key.doctorId(), key.date().atStartOfDay(),
+                key.date().plusDays(1).atStartOfDay());
+        entries.forEach(entry -> locations.put(entry.getAppointmentId(), key));
+        return Collections.unmodifiableList(entries);
+    }
+
+    private void forget(AgendaKey key, List<AgendaEntryDTO> entries) {
+        if (entries != null) {
+            entries.forEach(entry -> locations.remove(entry.getAppointmentId(), key));
+        }
+    }
+
+    private static List<AgendaEntryDTO> without(List<AgendaEntryDTO> entries, Long id) {
+        return entries.stream().anyMatch(entry -> entry.getAppointmentId().equals(id))
+                ? entries.stream().filter(entry -> !entry.getAppointmentId().equals(id)).toList()
+                : entries;
+    }
+
+    private record AgendaKey(Long doctorId, LocalDate date) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.appointment_service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of lock stripes keyed by doctor ID. Bookings for the same doctor
+ * serialize on one stripe; bookings for different doctors almost always land
+ * on different stripes and run in parallel.
+ */
+@Component
+public class DoctorLocks {
+    private final ReentrantLock[] stripes;
+
+    public DoctorLocks(@Value("${appointment.booking.lock-stripes:256}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long doctorId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripe(doctorId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int stripe(Long doctorId) {
+        int h = Long.hashCode(doctorId);
+        h ^= h >>> 16;
+        return h & (stripes.length - 1);
+    }
+}
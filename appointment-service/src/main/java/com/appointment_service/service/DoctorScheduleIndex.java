@@ -0,0 +1,199 @@
+package com.appointment_service.service;
+
+import com.appointment_service.DTO.BookedSlotDTO;
+import com.appointment_service.DTO.FreeSlotDTO;
+import com.appointment_service.entity.Appointment;
+import com.appointment_service.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory per-doctor index of booked appointment start times, kept sorted so
+ * free-slot lookups are a range scan over one doctor's bookings instead of a
+ * table scan. Built from the database while the context starts, before the web
+ * server accepts requests, and updated after every save. Only bookings from one
+ * slot before startup onward are held, and finished ones are pruned hourly, so
+ * memory follows the upcoming schedule rather than the whole history; slot
+ * checks further back go to the database.
+ * <p>
+ * The index only sees bookings saved through this node, so it assumes a single
+ * appointment-service instance. With several replicas, free slots would miss
+ * bookings made elsewhere, and the unique key on (doctor_id, appointment_time,
+ * slot_active) only rejects identical start times, not overlapping ones.
+ */
+@Component
+public class DoctorScheduleIndex {
+    private static final Logger logger = LoggerFactory.getLogger(DoctorScheduleIndex.class);
+    private static final Comparator<Booking> ORDER = Comparator.comparing(Booking::start)
+            .thenComparing(Booking::appointmentId);
+
+    private final AppointmentRepository appointmentRepository;
+    private final Duration slotDuration;
+
+    private final Map<Long, NavigableSet<Booking>> bookingsByDoctor = new ConcurrentHashMap<>();
+    private final Map<Long, Booking> bookingsById = new ConcurrentHashMap<>();
+    // Bookings starting before this instant are not held
+    private volatile LocalDateTime horizon = LocalDateTime.MIN;
+
+    public DoctorScheduleIndex(AppointmentRepository appointmentRepository,
+            @Value("${appointment.slot.duration-minutes:30}") long slotDurationMinutes) {
+        this.appointmentRepository = appointmentRepository;
+        this.slotDuration = Duration.ofMinutes(slotDurationMinutes);
+    }
+
+    /** Length of time each booking occupies, starting at its appointment time. */
+    public Duration getSlotDuration() {
+        return slotDuration;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        logger.info("Rebuilding doctor schedule index");
+        bookingsByDoctor.clear();
+        bookingsById.clear();
+        horizon = LocalDateTime.now().minus(slotDuration);
+        appointmentRepository.findByAppointmentTimeGreaterThanEqual(horizon).forEach(this::update);
+        logger.info("Doctor schedule index rebuilt with {} bookings from {}", bookingsById.size(), horizon);
+    }
+
+    /** Drops bookings that ended before the last slot, which no new booking can overlap. */
+    @Scheduled(fixedDelayString = "${appointment.schedule-index.prune-ms:3600000}",
+            initialDelayString = "${appointment.schedule-index.prune-ms:3600000}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(slotDuration);
+        horizon = cutoff;
+        int pruned = 0;
+        for (NavigableSet<Booking> bookings : bookingsByDoctor.values()) {
+            NavigableSet<Booking> finished = bookings.headSet(new Booking(cutoff, Long.MIN_VALUE, null), false);
+            for (Booking booking : finished) {
+                // Conditional, so a concurrent update that moved the appointment keeps its new entry.
+                bookingsById.remove(booking.appointmentId(), booking);
+                pruned++;
+            }
+            finished.clear();
+        }
+        logger.info("Pruned {} finished bookings from the doctor schedule index", pruned);
+    }
+
+    /**
+     * Reflects the saved state of an appointment in the index. Cancelled
+     * appointments release their slot.
+     */
+    public void update(Appointment appointment) {
+        Booking previous = bookingsById.remove(appointment.getId());
+        if (previous != null) {
+            NavigableSet<Booking> bookings = bookingsByDoctor.get(previous.doctorId());
+            if (bookings != null) {
+                bookings.remove(previous);
+            }
+        }
+        if (appointment.getAppointmentTime() == null || "CANCELLED".equals(appointment.getStatus())) {
+            return;
+        }
+        Booking booking = new Booking(appointment.getAppointmentTime(), appointment.getId(),
+                appointment.getDoctorId());
+        bookingsById.put(booking.appointmentId(), booking);
+        bookingsByDoctor.computeIfAbsent(booking.doctorId(), id -> new ConcurrentSkipListSet<>(ORDER))
+                .add(booking);
+    }
+
+    /**
+     * Returns consecutive free slots of the requested length between
+     * {@code from} and {@code to}. Each booking occupies one slot of the
+     * configured appointment duration starting at its appointment time.
+     * Bookings that finished before the index horizon are no longer held.
+     */
+    public List<FreeSlotDTO> findFreeSlots(Long doctorId, LocalDateTime from, LocalDateTime to, Duration duration) {
+        Duration occupied = slotDuration;
+        List<FreeSlotDTO> slots = new ArrayList<>();
+        NavigableSet<Booking> bookings = bookingsByDoctor.get(doctorId);
+
+        LocalDateTime cursor = from;
+        if (bookings != null) {
+            // Bookings starting up to one slot before 'from' may still overlap it.
+            Booking lower = new Booking(from.minus(occupied), Long.MIN_VALUE, doctorId);
+            Booking upper = new Booking(to, Long.MIN_VALUE, doctorId);
+            for (Booking booking : bookings.subSet(lower, true, upper, false)) {
+                addSlots(slots, cursor, booking.start(), duration);
+                LocalDateTime end = booking.start().plus(occupied);
+                if (end.isAfter(cursor)) {
+                    cursor = end;
+                }
+            }
+        }
+        addSlots(slots, cursor, to, duration);
+        return slots;
+    }
+
+    /**
+     * Returns the booked intervals of the given doctors that overlap
+     * {@code [from, to)}, ordered by doctor and start time.
+     */
+    public List<BookedSlotDTO> findBookedSlots(Collection<Long> doctorIds, LocalDateTime from, LocalDateTime to) {
+        List<BookedSlotDTO> booked = new ArrayList<>();
+        for (Long doctorId : doctorIds) {
+            NavigableSet<Booking> bookings = bookingsByDoctor.get(doctorId);
+            if (bookings == null) {
+                continue;
+            }
+            Booking lower = new Booking(from.minus(slotDuration), Long.MAX_VALUE, doctorId);
+            Booking upper = new Booking(to, Long.MIN_VALUE, doctorId);
+            for (Booking booking : bookings.subSet(lower, false, upper, false)) {
+                booked.add(new BookedSlotDTO(doctorId, booking.start(), booking.start().plus(slotDuration)));
+            }
+        }
+        return booked;
+    }
+
+    /**
+     * Whether a booking starting at {@code start} would overlap none of the
+     * doctor's bookings, ignoring {@code excludeAppointmentId} (the appointment
+     * being moved, or null). Starts too far back for the index are checked
+     * against the database.
+     */
+    public boolean isSlotFree(Long doctorId, LocalDateTime start, Long excludeAppointmentId) {
+        if (start.minus(slotDuration).isBefore(horizon)) {
+            return !appointmentRepository.existsBookingBetween(doctorId, start.minus(slotDuration),
+                    start.plus(slotDuration), excludeAppointmentId);
+        }
+        NavigableSet<Booking> bookings = bookingsByDoctor.get(doctorId);
+        if (bookings == null) {
+            return true;
+        }
+        Booking lower = new Booking(start.minus(slotDuration), Long.MAX_VALUE, doctorId);
+        Booking upper = new Booking(start.plus(slotDuration), Long.MIN_VALUE, doctorId);
+        for (Booking booking : bookings.subSet(lower, false, upper, false)) {
+            if (!booking.appointmentId().equals(excludeAppointmentId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addSlots(List<FreeSlotDTO> slots, LocalDateTime start, LocalDateTime end, Duration duration) {
+        LocalDateTime slotStart = start;
+        while (!slotStart.plus(duration).isAfter(end)) {
+            LocalDateTime slotEnd = slotStart.plus(duration);
+            slots.add(new FreeSlotDTO(slotStart, slotEnd));
+            slotStart = slotEnd;
+        }
+    }
+
+    private record Booking(LocalDateTime start, Long appointmentId, Long doctorId) {
+    }
+}
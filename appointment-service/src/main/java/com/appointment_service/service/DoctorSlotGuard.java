@@ -0,0 +1,55 @@
+package com.appointment_service.service;
+
+import com.appointment_service.entity.Appointment;
+import com.appointment_service.exception.SlotConflictException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Saves an appointment only if its slot is free. The check against the
+ * schedule index and the save happen under the doctor's lock stripe, so this
+ * node never double-books. The unique key on (doctor_id, appointment_time,
+ * slot_active) catches identical start times booked through another node, but
+ * not overlapping ones, hence the single-instance assumption of
+ * {@link DoctorScheduleIndex}. Saved appointments are applied to the schedule
+ * index and the doctor's agenda before the lock is released.
+ */
+@Component
+@RequiredArgsConstructor
+public class DoctorSlotGuard {
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final DoctorLocks doctorLocks;
+    private final DoctorAgenda doctorAgenda;
+
+    public Appointment reserve(Appointment appointment, UnaryOperator<Appointment> save) {
+        return doctorLocks.withLock(appointment.getDoctorId(), () -> {
+            if (!"CANCELLED".equals(appointment.getStatus())) {
+                checkSlotFree(appointment);
+            }
+            Appointment saved;
+            try {
+                saved = save.apply(appointment);
+            } catch (DataIntegrityViolationException e) {
+                throw conflict(appointment);
+            }
+            doctorScheduleIndex.update(saved);
+            doctorAgenda.update(saved);
+            return saved;
+        });
+    }
+
+    private void checkSlotFree(Appointment appointment) {
+        if (!doctorScheduleIndex.isSlotFree(appointment.getDoctorId(), appointment.getAppointmentTime(),
+                appointment.getId())) {
+            throw conflict(appointment);
+        }
+    }
+
+    private static SlotConflictException conflict(Appointment appointment) {
+        return new SlotConflictException("Doctor " + appointment.getDoctorId() + " is not available at "
+                + appointment.getAppointmentTime());
+    }
+}
@@ -0,0 +1,81 @@
+package com.appointment_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of remote user/doctor existence checks. Found entries live for
+ * the positive TTL, 404s are cached for the (shorter) negative TTL, and any
+ * other failure is not cached so a flaky downstream is retried on the next call.
+ * Hit/miss counts are published as {@code cache.*} meters.
+ */
+@Component
+public class ExistenceCache {
+    private static final Logger logger = LoggerFactory.getLogger(ExistenceCache.class);
+
+    private final Cache<Long, Boolean> users;
+    private final Cache<Long, Boolean> doctors;
+
+    public ExistenceCache(MeterRegistry meterRegistry,
+            @Value("${appointment.validation-cache.max-size:10000}") long maxSize,
+            @Value("${appointment.validation-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${appointment.validation-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.users = CaffeineCacheMetrics.monitor(meterRegistry, build(maxSize, ttl, negativeTtl), "userExistence");
+        this.doctors = CaffeineCacheMetrics.monitor(meterRegistry, build(maxSize, ttl, negativeTtl), "doctorExistence");
+    }
+
+    public boolean userExists(Long userId, Function<Long, Object> lookup) {
+        return users.get(userId, id -> exists(id, lookup));
+    }
+
+    public boolean doctorExists(Long doctorId, Function<Long, Object> lookup) {
+        return doctors.get(doctorId, id -> exists(id, lookup));
+    }
+
+    private boolean exists(Long id, Function<Long, Object> lookup) {
+        try {
+            return lookup.apply(id) != null;
+        } catch (FeignException.NotFound e) {
+            logger.info("Remote lookup returned 404 for ID: {}", id);
+            return false;
+        }
+    }
+
+    private static Cache<Long, Boolean> build(long maxSize, Duration ttl, Duration negativeTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Boolean exists, long currentTime) {
+                        return (exists ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Boolean exists, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, exists, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Boolean exists, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+}
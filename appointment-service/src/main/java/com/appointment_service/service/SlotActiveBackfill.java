@@ -0,0 +1,42 @@
+package com.appointment_service.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sets slot_active on live appointments created before the column existed,
+ * which ddl-auto left NULL and so outside uk_appointments_doctor_slot. Where
+ * legacy data already double-books a slot, only the earliest booking is
+ * marked, and the rest are logged for manual cleanup. Runs after the JPA schema
+ * update and before the web server accepts bookings.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotActiveBackfill implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(SlotActiveBackfill.class);
+    private static final String LIVE = "a.slot_active IS NULL AND (a.status IS NULL OR a.status <> 'CANCELLED')";
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // The derived table is materialised first, which lets MySQL update the table it reads.
+        int updated = jdbcTemplate.update("UPDATE appointments t JOIN ("
+                + "SELECT MIN(a.id) AS id FROM appointments a WHERE " + LIVE + " AND NOT EXISTS ("
+                + "SELECT 1 FROM appointments b WHERE b.doctor_id = a.doctor_id "
+                + "AND b.appointment_time = a.appointment_time AND b.slot_active = TRUE) "
+                + "GROUP BY a.doctor_id, a.appointment_time) keep ON t.id = keep.id SET t.slot_active = TRUE");
+        if (updated > 0) {
+            logger.info("Backfilled slot_active on {} existing appointments", updated);
+        }
+        Long conflicts = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments a WHERE " + LIVE,
+                Long.class);
+        if (conflicts != null && conflicts > 0) {
+            logger.warn("{} live appointments double-book a slot taken by another booking and were left unmarked",
+                    conflicts);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.appointment_service.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PowerOfTwoChoicesLoadBalancerTest {
+    // Enough draws that a random pick would hit every instance many times over
+    private static final int ROUNDS = 1000;
+
+    private final PowerOfTwoChoicesLoadBalancer balancer = new PowerOfTwoChoicesLoadBalancer(null, "doctor-service");
+    private final Request<Object> request = new DefaultRequest<>();
+    private final ServiceInstance a = instance("a");
+    private final ServiceInstance b = instance("b");
+    private final ServiceInstance c = instance("c");
+
+    @Test
+    void samplesTwoDistinctInstances() {
+        // Drawing the busy instance twice would be the only way to pick it.
+        start(a);
+        for (int i = 0; i < ROUNDS; i++) {
+            assertEquals(b, choose(a, b));
+        }
+    }
+
+    @Test
+    void prefersTheInstanceWithFewerRequestsInFlight() {
+        start(a);
+        start(a);
+        start(b);
+        Set<ServiceInstance> chosen = new HashSet<>();
+        for (int i = 0; i < ROUNDS; i++) {
+            ServiceInstance instance = choose(a, b, c);
+            assertNotEquals(a, instance);
+            chosen.add(instance);
+        }
+        // b still wins whenever it is drawn alongside a.
+        assertEquals(Set.of(b, c), chosen);
+    }
+
+    @Test
+    void releasesTheInFlightCountOnSuccessAndOnError() {
+        start(a);
+        start(b);
+        complete(a, CompletionContext.Status.SUCCESS);
+        for (int i = 0; i < ROUNDS; i++) {
+            assertEquals(a, choose(a, b));
+        }
+
+        start(a);
+        start(a);
+        complete(a, CompletionContext.Status.FAILED);
+        complete(a, CompletionContext.Status.FAILED);
+        for (int i = 0; i < ROUNDS; i++) {
+            assertEquals(a, choose(a, b));
+        }
+    }
+
+    @Test
+    void forgetsInstancesThatLeaveTheDiscoveryList() {
+        start(a);
+        start(a);
+        choose(b, c);
+        start(b);
+        // a comes back with no calls counted against it.
+        for (int i = 0; i < ROUNDS; i++) {
+            assertEquals(a, choose(a, b));
+        }
+    }
+
+    @Test
+    void completionsAfterPruningDoNotDriveTheCountNegative() {
+        start(a);
+        choose(b);
+        complete(a, CompletionContext.Status.SUCCESS);
+        complete(a, CompletionContext.Status.SUCCESS);
+        start(a);
+        start(b);
+        Set<ServiceInstance> chosen = new HashSet<>();
+        for (int i = 0; i < ROUNDS; i++) {
+            chosen.add(choose(a, b));
+        }
+        assertEquals(Set.of(a, b), chosen);
+    }
+
+    @Test
+    void returnsNoServerWhenThereAreNoInstances() {
+        assertFalse(balancer.choose(List.of()).hasServer());
+    }
+
+    private ServiceInstance choose(ServiceInstance... instances) {
+        return balancer.choose(List.of(instances)).getServer();
+    }
+
+    private void start(ServiceInstance instance) {
+        balancer.onStartRequest(request, new DefaultResponse(instance));
+    }
+
+    private void complete(ServiceInstance instance, CompletionContext.Status status) {
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        Throwable error = status == CompletionContext.Status.FAILED ? new IllegalStateException("boom") : null;
+        balancer.onComplete(new CompletionContext<>(status, error, request, response));
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, "doctor-service", host, 8080, false);
+    }
+}
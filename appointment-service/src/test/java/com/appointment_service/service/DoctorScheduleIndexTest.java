@@ -0,0 +1,60 @@
+package com.appointment_service.service;
+
+import com.appointment_service.DTO.BookedSlotDTO;
+import com.appointment_service.entity.Appointment;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DoctorScheduleIndexTest {
+    private final DoctorScheduleIndex index = new DoctorScheduleIndex(null, 30);
+
+    @Test
+    void pruneDropsFinishedBookingsAndKeepsUpcomingOnes() {
+        LocalDateTime now = LocalDateTime.now();
+        index.update(appointment(1, now.minusDays(2)));
+        index.update(appointment(2, now.plusDays(1)));
+
+        index.prune();
+
+        List<LocalDateTime> starts = index.findBookedSlots(List.of(5L), now.minusDays(3), now.plusDays(2)).stream()
+                .map(BookedSlotDTO::getStart)
+                .toList();
+        assertEquals(List.of(now.plusDays(1)), starts);
+    }
+
+    @Test
+    void prunedAppointmentCanStillBeRescheduled() {
+        LocalDateTime now = LocalDateTime.now();
+        index.update(appointment(1, now.minusDays(2)));
+        index.prune();
+
+        LocalDateTime moved = now.plusDays(1);
+        index.update(appointment(1, moved));
+        index.update(cancelled(appointment(1, moved)));
+
+        assertEquals(List.of(), index.findBookedSlots(List.of(5L), now, now.plusDays(2)));
+        assertFalse(index.findFreeSlots(5L, moved, moved.plusMinutes(30), Duration.ofMinutes(30))
+                .isEmpty());
+    }
+
+    private static Appointment appointment(long id, LocalDateTime time) {
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setDoctorId(5L);
+        appointment.setPatientId(1L);
+        appointment.setAppointmentTime(time);
+        appointment.setStatus("SCHEDULED");
+        return appointment;
+    }
+
+    private static Appointment cancelled(Appointment appointment) {
+        appointment.setStatus("CANCELLED");
+        return appointment;
+    }
+}
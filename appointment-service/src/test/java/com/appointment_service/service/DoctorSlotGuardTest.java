@@ -0,0 +1,164 @@
+package com.appointment_service.service;
+
+import com.appointment_service.entity.Appointment;
+import com.appointment_service.exception.SlotConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DoctorSlotGuardTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private final DoctorScheduleIndex index = new DoctorScheduleIndex(null, 30);
+    private final DoctorLocks locks = new DoctorLocks(256);
+    private final DoctorSlotGuard guard = new DoctorSlotGuard(index, locks,
+            new DoctorAgenda(null, locks, new SimpleMeterRegistry(), 1000, 60));
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void concurrentBookingsNeverDoubleBookASlot() throws Exception {
+        int doctors = 4;
+        int slotsPerDoctor = 16;
+        int threads = 32;
+        int attemptsPerThread = 200;
+        Map<String, AtomicInteger> bookedPerSlot = new ConcurrentHashMap<>();
+        AtomicInteger booked = new AtomicInteger();
+        UnaryOperator<Appointment> save = simulatedSave(0, appointment -> bookedPerSlot
+                .computeIfAbsent(appointment.getDoctorId() + "@" + appointment.getAppointmentTime(),
+                        key -> new AtomicInteger())
+                .incrementAndGet());
+
+        runConcurrently(threads, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < attemptsPerThread; i++) {
+                long doctorId = random.nextInt(doctors) + 1;
+                LocalDateTime time = DAY.plusMinutes(30L * random.nextInt(slotsPerDoctor));
+                try {
+                    guard.reserve(appointment(doctorId, time), save);
+                    booked.incrementAndGet();
+                } catch (SlotConflictException expected) {
+                    // someone else holds the slot
+                }
+            }
+        });
+
+        assertTrue(bookedPerSlot.values().stream().allMatch(count -> count.get() == 1),
+                "a slot was booked more than once: " + bookedPerSlot);
+        assertEquals(doctors * slotsPerDoctor, booked.get());
+    }
+
+    @Test
+    void overlappingStartTimesConflict() {
+        guard.reserve(appointment(1L, DAY), simulatedSave(0, a -> { }));
+
+        assertThrows(SlotConflictException.class,
+                () -> guard.reserve(appointment(1L, DAY.plusMinutes(15)), simulatedSave(0, a -> { })));
+        guard.reserve(appointment(1L, DAY.plusMinutes(30)), simulatedSave(0, a -> { }));
+        guard.reserve(appointment(2L, DAY.plusMinutes(15)), simulatedSave(0, a -> { }));
+    }
+
+    @Test
+    void bookingForAnotherDoctorProceedsWhileOneDoctorIsLocked() throws Exception {
+        // Doctor IDs 1 and 2 hash to different stripes out of 256.
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> holder = executor.submit(() -> locks.withLock(1L, () -> {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertTrue(held.await(10, TimeUnit.SECONDS));
+
+            Future<Appointment> sameDoctor = executor.submit(
+                    () -> guard.reserve(appointment(1L, DAY), simulatedSave(0, a -> { })));
+            Future<Appointment> otherDoctor = executor.submit(
+                    () -> guard.reserve(appointment(2L, DAY), simulatedSave(0, a -> { })));
+
+            // Completes while doctor 1's stripe is still held.
+            assertEquals(2L, otherDoctor.get(10, TimeUnit.SECONDS).getDoctorId());
+            assertFalse(sameDoctor.isDone());
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            assertEquals(1L, sameDoctor.get(10, TimeUnit.SECONDS).getDoctorId());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private Appointment appointment(long doctorId, LocalDateTime time) {
+        Appointment appointment = new Appointment();
+        appointment.setDoctorId(doctorId);
+        appointment.setPatientId(1L);
+        appointment.setAppointmentTime(time);
+        appointment.setStatus("SCHEDULED");
+        return appointment;
+    }
+
+    // Stands in for the repository save, with an optional delay for the DB round trip.
+    private UnaryOperator<Appointment> simulatedSave(long delayMillis, Consumer<Appointment> onSave) {
+        return appointment -> {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            appointment.setId(ids.incrementAndGet());
+            onSave.accept(appointment);
+            return appointment;
+        };
+    }
+
+    private static void runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
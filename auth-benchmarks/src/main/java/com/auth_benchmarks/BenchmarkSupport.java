@@ -0,0 +1,65 @@
+package com.auth_benchmarks;
+
+import java.lang.reflect.Field;
+
+/**
+ * Wires the services' {@code @Value}-injected fields by reflection so their
+ * auth components can be benchmarked without starting a Spring context.
+ */
+final class BenchmarkSupport {
+    // Same HS512 secret as the services' application.properties.
+    static final String SECRET = "cf83e1357eefb8bdf1542850d66d8007d620e4050b5715dc83f4a921d36ce9ce47d0d13c5d85f2b0ff8318d2877eec2f63b931bd47417a81a538327af927da3e";
+    static final long EXPIRATION = 86400000L;
+
+    private BenchmarkSupport() {
+    }
+
+    static <T> T withSecret(T jwtUtil) {
+        set(jwtUtil, "secret", SECRET);
+        if (hasField(jwtUtil, "expiration")) {
+            set(jwtUtil, "expiration", EXPIRATION);
+        }
+        return jwtUtil;
+    }
+
+    static com.user_service.entity.User user(long id, String role) {
+        com.user_service.entity.User user = new com.user_service.entity.User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        try {
+            Field field = com.user_service.entity.User.class.getDeclaredField("role");
+            set(user, "role", enumValue(field.getType(), role));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+        return user;
+    }
+
+    static String token(long id, String role) {
+        return withSecret(new com.user_service.util.JwtUtil()).generateToken(user(id, role));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object enumValue(Class<?> type, String name) {
+        return Enum.valueOf((Class) type, name);
+    }
+
+    private static boolean hasField(Object target, String name) {
+        try {
+            target.getClass().getDeclaredField(name);
+            return true;
+        } catch (NoSuchFieldException e) {
+            return false;
+        }
+    }
+
+    private static void set(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.auth_benchmarks;
+
+import com.appointment_service.service.BookingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass through each service's {@code JwtAuthenticationFilter} for a
+ * request carrying a valid bearer token, as {@code doFilterInternal} runs it
+ * on every authenticated call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private OncePerRequestFilter appointmentFilter;
+    private OncePerRequestFilter doctorFilter;
+    private OncePerRequestFilter patientFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        appointmentFilter = new com.appointment_service.config.JwtAuthenticationFilter(
+                BenchmarkSupport.withSecret(new com.appointment_service.util.JwtUtil()),
+                new BookingMetrics(new SimpleMeterRegistry()));
+        doctorFilter = new com.doctor_service.config.JwtAuthenticationFilter(
+                BenchmarkSupport.withSecret(new com.doctor_service.util.JwtUtil()));
+        patientFilter = new com.patient_service.config.JwtAuthenticationFilter(
+                BenchmarkSupport.withSecret(new com.patient_service.util.JwtUtil()));
+        authorization = "Bearer " + BenchmarkSupport.token(42L, "PATIENT");
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object appointmentServiceFilter() throws ServletException, IOException {
+        return filter(appointmentFilter);
+    }
+
+    @Benchmark
+    public Object doctorServiceFilter() throws ServletException, IOException {
+        return filter(doctorFilter);
+    }
+
+    @Benchmark
+    public Object patientServiceFilter() throws ServletException, IOException {
+        return filter(patientFilter);
+    }
+
+    private Object filter(OncePerRequestFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/appointments/me");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,86 @@
+package com.auth_benchmarks;
+
+import com.appointment_service.config.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The controllers' private getCurrentUserId()/getCurrentUserRole() helpers,
+ * reproduced here because they cannot be called from outside. Each benchmark
+ * extracts both the id and the role, as a controller action does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentityExtractionBenchmark {
+    private com.appointment_service.util.JwtUtil jwtUtil;
+    private String authorization;
+    private Authentication principalAuth;
+    private Authentication detailsAuth;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkSupport.withSecret(new com.appointment_service.util.JwtUtil());
+        authorization = "Bearer " + BenchmarkSupport.token(42L, "PATIENT");
+        principalAuth = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(42L, "PATIENT", Instant.now().plusSeconds(3600)), null,
+                List.of(new SimpleGrantedAuthority("PATIENT")));
+        UsernamePasswordAuthenticationToken details = new UsernamePasswordAuthenticationToken("user42", null,
+                List.of(new SimpleGrantedAuthority("PATIENT")));
+        details.setDetails(42L);
+        detailsAuth = details;
+    }
+
+    /** appointment-service: typed principal published by the filter. */
+    @Benchmark
+    public void appointmentServicePrincipal(Blackhole bh) {
+        SecurityContextHolder.getContext().setAuthentication(principalAuth);
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication()
+                .getPrincipal();
+        bh.consume(user.id());
+        user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        bh.consume(user.role());
+    }
+
+    /** doctor-service and patient-service: id in details, role from authorities. */
+    @Benchmark
+    public void detailsAndAuthorities(Blackhole bh) {
+        SecurityContextHolder.getContext().setAuthentication(detailsAuth);
+        bh.consume((Long) SecurityContextHolder.getContext().getAuthentication().getDetails());
+        bh.consume(SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .findFirst()
+                .map(GrantedAuthority::getAuthority)
+                .orElseThrow());
+    }
+
+    /** appointment-service before the filter published a principal: token re-verified per helper. */
+    @Benchmark
+    public void reparseTokenPerHelper(Blackhole bh) {
+        Claims claims = jwtUtil.validateToken(authorization.substring(7));
+        bh.consume(Long.valueOf(claims.get("id").toString()));
+        claims = jwtUtil.validateToken(authorization.substring(7));
+        bh.consume(claims.get("role").toString());
+    }
+}
@@ -0,0 +1,79 @@
+package com.auth_benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation (user-service) and validation (the other services). The
+ * services build a new parser, and base64-decode the secret, on every call;
+ * {@code validateWithSharedParser} shows the cost with a reused parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+    private com.user_service.util.JwtUtil userJwtUtil;
+    private com.user_service.entity.User user;
+    private com.appointment_service.util.JwtUtil appointmentJwtUtil;
+    private com.doctor_service.util.JwtUtil doctorJwtUtil;
+    private com.patient_service.util.JwtUtil patientJwtUtil;
+    private JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        userJwtUtil = BenchmarkSupport.withSecret(new com.user_service.util.JwtUtil());
+        user = BenchmarkSupport.user(42L, "PATIENT");
+        appointmentJwtUtil = BenchmarkSupport.withSecret(new com.appointment_service.util.JwtUtil());
+        doctorJwtUtil = BenchmarkSupport.withSecret(new com.doctor_service.util.JwtUtil());
+        patientJwtUtil = BenchmarkSupport.withSecret(new com.patient_service.util.JwtUtil());
+        sharedParser = Jwts.parserBuilder().setSigningKey(BenchmarkSupport.SECRET).build();
+        token = userJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return userJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims validateUserService() {
+        return userJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims validateAppointmentService() {
+        return appointmentJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims validateDoctorService() {
+        return doctorJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims validatePatientService() {
+        return patientJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims validateWithSharedParser() {
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+}
@@ -1,11 +1,14 @@
 package com.doctor_service.DTO.AppointmentDTO;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+
 import java.time.LocalDateTime;
 
 public class AppointmentDTO {
     private Long id;
     private Long patientId;
     private Long doctorId;
+    @JsonAlias("appointmentTime")
     private LocalDateTime appointmentDate;
     private String status;
 
@@ -0,0 +1,12 @@
+package com.doctor_service.DTO.AppointmentDTO;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BookedSlotDTO {
+    private Long doctorId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,17 @@
+package com.doctor_service.DTO.AvailabilityDTO;
+
+import com.doctor_service.entity.AvailabilityOverride;
+import com.doctor_service.entity.WeeklyAvailability;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDTO {
+    private List<WeeklyAvailability> weekly;
+    private List<AvailabilityOverride> overrides;
+}
@@ -0,0 +1,18 @@
+package com.doctor_service.DTO.AvailabilityDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningDTO {
+    private Long doctorId;
+    private String firstName;
+    private String lastName;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,15 @@
+package com.doctor_service.DTO.AvailabilityDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSlotDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 public class PatientDTO {
@@ -34,6 +35,8 @@ public class PatientDTO {
     private String insuranceProvider;
 
     private String insurancePolicyNumber;
+
+    private List<MedicalHistoryDTO> medicalHistory;
 }
 
 enum Gender {
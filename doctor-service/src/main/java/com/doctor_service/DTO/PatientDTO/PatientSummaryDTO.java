@@ -0,0 +1,13 @@
+package com.doctor_service.DTO.PatientDTO;
+
+import lombok.Data;
+
+@Data
+public class PatientSummaryDTO {
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String bloodType;
+    private String emergencyContactName;
+    private String emergencyContactNumber;
+}
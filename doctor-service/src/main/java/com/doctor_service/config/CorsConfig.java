@@ -22,6 +22,7 @@ public class CorsConfig {
         ));
         config.setAllowedHeaders(Arrays.asList("*"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
+        config.setExposedHeaders(List.of("ETag", "X-Total-Count"));
 
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
@@ -4,6 +4,9 @@ import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import jakarta.servlet.http.HttpServletRequest;
 
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -28,4 +31,11 @@ public class FeignClientConfig {
             }
         };
     }
+
+    /** Closes pooled connections that have sat idle longer than the configured limit. */
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer idleConnectionEviction(
+            @Value("${feign.pool.idle-eviction-seconds:30}") long idleEvictionSeconds) {
+        return builder -> builder.evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds));
+    }
 }
@@ -0,0 +1,30 @@
+package com.doctor_service.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Feign clients resolve their targets through Eureka and Spring Cloud
+ * LoadBalancer; every client gets a {@link PowerOfTwoChoicesLoadBalancer}.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LoadBalancerConfig.PowerOfTwoChoicesConfiguration.class)
+public class LoadBalancerConfig {
+    // Not a @Configuration: it is instantiated once per target service in that
+    // service's load-balancer context, not in the application context.
+    static class PowerOfTwoChoicesConfiguration {
+        @Bean
+        public PowerOfTwoChoicesLoadBalancer powerOfTwoChoicesLoadBalancer(Environment environment,
+                LoadBalancerClientFactory loadBalancerClientFactory) {
+            String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+            ObjectProvider<ServiceInstanceListSupplier> instances = loadBalancerClientFactory
+                    .getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+            return new PowerOfTwoChoicesLoadBalancer(instances, serviceId);
+        }
+    }
+}
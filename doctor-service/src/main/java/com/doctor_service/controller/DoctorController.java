@@ -1,18 +1,34 @@
 package com.doctor_service.controller;
 
+import com.doctor_service.DTO.AvailabilityDTO.AvailabilityDTO;
+import com.doctor_service.DTO.AvailabilityDTO.OpeningDTO;
+import com.doctor_service.DTO.AvailabilityDTO.TimeSlotDTO;
 import com.doctor_service.DTO.PatientDTO.PatientDTO;
+import com.doctor_service.DTO.PatientDTO.PatientSummaryDTO;
 import com.doctor_service.entity.Doctor;
+import com.doctor_service.service.AvailabilityService;
+import com.doctor_service.service.DoctorDirectory;
 import com.doctor_service.service.DoctorService;
+import com.doctor_service.service.EarliestOpeningService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,6 +37,8 @@ import java.util.List;
 public class DoctorController {
     private static final Logger logger = LoggerFactory.getLogger(DoctorController.class);
     private final DoctorService doctorService;
+    private final AvailabilityService availabilityService;
+    private final EarliestOpeningService earliestOpeningService;
 
     @GetMapping("/me")
     @PreAuthorize("hasAuthority('DOCTOR')")
@@ -45,13 +63,91 @@ public class DoctorController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all doctors", description = "Returns a list of all doctors")
-    public ResponseEntity<List<Doctor>> getAllDoctors() {
+    @Operation(summary = "Get all doctors", description = "Returns all doctors, or one page when page or size is given (total in X-Total-Count); answers 304 when If-None-Match carries the current ETag")
+    public ResponseEntity<List<Doctor>> getAllDoctors(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size, WebRequest webRequest) {
         logger.info("Received request to get all doctors");
-        List<Doctor> doctors = doctorService.getAllDoctors();
+        DoctorDirectory.Roster roster = doctorService.getRoster();
+        String eTag = doctorService.getRosterETag(roster);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache());
+        if (page == null && size == null) {
+            return response.body(roster.doctors());
+        }
+        List<Doctor> doctors = doctorService.getDoctorsPage(roster, page == null ? 0 : page, size == null ? 20 : size);
+        return response.header("X-Total-Count", String.valueOf(roster.doctors().size())).body(doctors);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search doctors", description = "Typo-tolerant prefix search over doctor names, specialty and qualifications, best match first")
+    public ResponseEntity<List<Doctor>> searchDoctors(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Received request to search doctors: {}", q);
+        List<Doctor> doctors = doctorService.searchDoctors(q, limit);
+        return new ResponseEntity<>(doctors, HttpStatus.OK);
+    }
+
+    @GetMapping("/me/availability")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Get own availability", description = "Returns the authenticated doctor's weekly template and date overrides")
+    public ResponseEntity<AvailabilityDTO> getMyAvailability() {
+        Long userId = getCurrentUserId();
+        logger.info("Received request to get availability for doctor ID: {}", userId);
+        AvailabilityDTO availability = availabilityService.getAvailability(userId);
+        return new ResponseEntity<>(availability, HttpStatus.OK);
+    }
+
+    @PutMapping("/me/availability")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Update own availability", description = "Replaces the authenticated doctor's weekly template and date overrides")
+    public ResponseEntity<AvailabilityDTO> updateMyAvailability(@RequestBody AvailabilityDTO availability) {
+        Long userId = getCurrentUserId();
+        logger.info("Received request to update availability for doctor ID: {}", userId);
+        AvailabilityDTO updated = availabilityService.updateAvailability(userId, availability);
+        return new ResponseEntity<>(updated, HttpStatus.OK);
+    }
+
+    @GetMapping("/available")
+    @Operation(summary = "Get available doctors", description = "Returns doctors of a specialty who are scheduled and not booked at the given time")
+    public ResponseEntity<List<Doctor>> getAvailableDoctors(@RequestParam String specialty,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time) {
+        logger.info("Received request to get {} doctors available at {}", specialty, time);
+        List<Doctor> doctors = availabilityService.getAvailableDoctors(specialty, time);
         return new ResponseEntity<>(doctors, HttpStatus.OK);
     }
 
+    @GetMapping("/earliest-available")
+    @Operation(summary = "Get earliest openings", description = "Returns the earliest free openings across all doctors of a specialty after the given time, earliest first")
+    public ResponseEntity<List<OpeningDTO>> getEarliestOpenings(@RequestParam String specialty,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "30") int duration) {
+        logger.info("Received request to get earliest {} openings after {}", specialty, after);
+        List<OpeningDTO> openings = earliestOpeningService.findEarliestOpenings(specialty, after, limit, duration);
+        return new ResponseEntity<>(openings, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Get doctor availability", description = "Returns a doctor's weekly template and date overrides")
+    public ResponseEntity<AvailabilityDTO> getAvailability(@PathVariable Long id) {
+        logger.info("Received request to get availability for doctor ID: {}", id);
+        AvailabilityDTO availability = availabilityService.getAvailability(id);
+        return new ResponseEntity<>(availability, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/free-slots")
+    @Operation(summary = "Get free slots", description = "Returns a doctor's available time on a date minus booked appointments; this is the authoritative availability for patients, unlike appointment-service's free-slots, which ignores working hours")
+    public ResponseEntity<List<TimeSlotDTO>> getFreeSlots(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.info("Received request to get free slots for doctor ID: {} on {}", id, date);
+        List<TimeSlotDTO> slots = availabilityService.getFreeSlots(id, date);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get doctor by ID", description = "Returns a specific doctor's profile")
     public ResponseEntity<Doctor> getDoctorById(@PathVariable Long id) {
@@ -79,15 +175,15 @@ public class DoctorController {
         return new ResponseEntity<>(createdDoctor, HttpStatus.CREATED);
     }
 
-    // @GetMapping("/me/patient-summaries")
-    // @PreAuthorize("hasAuthority('DOCTOR')")
-    // @Operation(summary = "Get all patient summaries for doctor", description = "Returns all patient summaries for patients who have an appointment with the authenticated doctor")
-    // public ResponseEntity<List<PatientDTO>> getAllPatientSummariesForDoctor() {
-    //     Long doctorId = getCurrentUserId();
-    //     logger.info("Received request to get all patient summaries for doctor ID: {}", doctorId);
-    //     List<PatientDTO> summaries = doctorService.getAllPatientSummariesForDoctor(doctorId);
-    //     return new ResponseEntity<>(summaries, HttpStatus.OK);
-    // }
+    @GetMapping("/me/patient-summaries")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Get all patient summaries for doctor", description = "Returns all patient summaries for patients who have an appointment with the authenticated doctor")
+    public ResponseEntity<List<PatientSummaryDTO>> getAllPatientSummariesForDoctor() {
+        Long doctorId = getCurrentUserId();
+        logger.info("Received request to get all patient summaries for doctor ID: {}", doctorId);
+        List<PatientSummaryDTO> summaries = doctorService.getAllPatientSummariesForDoctor(doctorId);
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
 
     @GetMapping("/me/patients")
     public ResponseEntity<List<PatientDTO>> getAllPatients() {
@@ -99,6 +195,26 @@ public class DoctorController {
         return new ResponseEntity<>(patients, HttpStatus.OK);
     }
 
+    @GetMapping("/me/patients-with-history")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Get all patients with medical history", description = "Streams all patients with their medical history as a JSON array")
+    public ResponseEntity<StreamingResponseBody> getAllPatientsWithHistory() {
+        logger.info("Received request to get all patients with medical history for doctor ID: {}", getCurrentUserId());
+        // The body is written on an async thread; carry the request over so Feign can forward the caller's token
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        StreamingResponseBody body = out -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                doctorService.writeAllPatientsWithHistory(out);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     private Long getCurrentUserId() {
         return (Long) SecurityContextHolder.getContext().getAuthentication().getDetails();
     }
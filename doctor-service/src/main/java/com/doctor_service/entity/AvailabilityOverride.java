@@ -0,0 +1,35 @@
+package com.doctor_service.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A dated exception to the weekly template: extra hours when {@code available}
+ * is true, time off otherwise. Null start/end times cover the whole day.
+ */
+@Entity
+@Table(name = "doctor_availability_overrides", indexes = @Index(name = "idx_availability_override_doctor_date", columnList = "doctor_id, date"))
+@Data
+public class AvailabilityOverride {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long doctorId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private boolean available;
+}
@@ -20,6 +20,7 @@ public class Doctor {
 
     private Double consultationFee;
 
+    // Free-text note shown on the profile; bookable hours come from WeeklyAvailability and AvailabilityOverride
     private String availability;
 
     private String licenseNumber;
@@ -0,0 +1,33 @@
+package com.doctor_service.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/** A recurring window in a doctor's weekly template, e.g. MONDAY 09:00-13:00. */
+@Entity
+@Table(name = "doctor_weekly_availability", indexes = @Index(name = "idx_weekly_availability_doctor", columnList = "doctor_id"))
+@Data
+public class WeeklyAvailability {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long doctorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+}
@@ -16,4 +16,9 @@ public class GlobalExceptionHandler {
    public ResponseEntity<String> handleUnauthorized(UnauthorizedException ex) {
        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNAUTHORIZED);
    }
+
+   @ExceptionHandler(IllegalArgumentException.class)
+   public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
+       return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+   }
 }
\ No newline at end of file
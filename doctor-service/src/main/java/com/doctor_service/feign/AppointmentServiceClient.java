@@ -1,15 +1,29 @@
 package com.doctor_service.feign;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.doctor_service.DTO.AppointmentDTO.AppointmentDTO;
+import com.doctor_service.DTO.AppointmentDTO.BookedSlotDTO;
 import com.doctor_service.config.FeignClientConfig;
-@FeignClient(name = "appointment-service", url = "http://localhost:8085", configuration = FeignClientConfig.class)
+@FeignClient(name = "appointment-service", configuration = FeignClientConfig.class)
 public interface AppointmentServiceClient {
     @GetMapping("/api/appointments/doctor/{doctorId}")
     List<AppointmentDTO> getDoctorAppointments(@PathVariable("doctorId") Long doctorId);
+
+    /** Distinct IDs of the doctor's patients, from one query on appointment-service. */
+    @GetMapping("/api/appointments/doctor/{doctorId}/patient-ids")
+    List<Long> getDoctorPatientIds(@PathVariable("doctorId") Long doctorId);
+
+    @GetMapping("/api/appointments/booked-slots")
+    List<BookedSlotDTO> getBookedSlots(@RequestParam("doctorIds") Collection<Long> doctorIds,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to);
 }
@@ -1,17 +1,29 @@
 package com.doctor_service.feign;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import com.doctor_service.DTO.PatientDTO.PatientDTO;
+import com.doctor_service.DTO.PatientDTO.PatientSummaryDTO;
 import com.doctor_service.config.FeignClientConfig;
 
-@FeignClient(name = "patient-service", url = "http://localhost:8082")
+@FeignClient(name = "patient-service")
 public interface PatientServiceClient {
     @GetMapping("/api/patients/me/patients")
     List<PatientDTO> getAllPatients();
 
+    /** One page of patients with their history; the next page's cursor is in the X-Next-Cursor header. */
     @GetMapping("/api/patients/all-with-history")
-    List<PatientDTO> getAllPatientsWithHistory();
+    ResponseEntity<List<PatientDTO>> getPatientsWithHistoryPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("limit") int limit);
+
+    @PostMapping("/api/patients/summaries")
+    List<PatientSummaryDTO> getPatientSummaries(@RequestBody Collection<Long> patientIds);
 }
@@ -4,7 +4,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
-@FeignClient(name = "user-service", url = "${user.service.url}")
+@FeignClient(name = "user-service", path = "/api/users")
 public interface UserServiceClient {
     @GetMapping("/validate/{userId}")
     Boolean validateUser(@PathVariable("userId") Long userId);
@@ -0,0 +1,17 @@
+package com.doctor_service.repository;
+
+import com.doctor_service.entity.AvailabilityOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AvailabilityOverrideRepository extends JpaRepository<AvailabilityOverride, Long> {
+    List<AvailabilityOverride> findByDoctorId(Long doctorId);
+
+    List<AvailabilityOverride> findByDoctorIdIn(Collection<Long> doctorIds);
+
+    void deleteByDoctorId(Long doctorId);
+}
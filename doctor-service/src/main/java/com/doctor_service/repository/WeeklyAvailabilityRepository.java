@@ -0,0 +1,17 @@
+package com.doctor_service.repository;
+
+import com.doctor_service.entity.WeeklyAvailability;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WeeklyAvailabilityRepository extends JpaRepository<WeeklyAvailability, Long> {
+    List<WeeklyAvailability> findByDoctorId(Long doctorId);
+
+    List<WeeklyAvailability> findByDoctorIdIn(Collection<Long> doctorIds);
+
+    void deleteByDoctorId(Long doctorId);
+}
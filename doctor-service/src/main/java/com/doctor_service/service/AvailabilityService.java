@@ -0,0 +1,269 @@
+package com.doctor_service.service;
+
+import com.doctor_service.DTO.AppointmentDTO.BookedSlotDTO;
+import com.doctor_service.DTO.AvailabilityDTO.AvailabilityDTO;
+import com.doctor_service.DTO.AvailabilityDTO.TimeSlotDTO;
+import com.doctor_service.entity.AvailabilityOverride;
+import com.doctor_service.entity.Doctor;
+import com.doctor_service.entity.WeeklyAvailability;
+import com.doctor_service.exception.ResourceNotFoundException;
+import com.doctor_service.feign.AppointmentServiceClient;
+import com.doctor_service.repository.AvailabilityOverrideRepository;
+import com.doctor_service.repository.WeeklyAvailabilityRepository;
+import com.doctor_service.util.SlotBitmap;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles each doctor's weekly template and dated overrides into per-day
+ * {@link SlotBitmap}s and intersects them with booked appointments. Compiled
+ * schedules are cached per doctor in a bounded cache. A doctor's entry is
+ * dropped once a new template commits, and every entry expires after a TTL so
+ * changes made by other replicas are picked up.
+ */
+@Service
+public class AvailabilityService {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+    private final WeeklyAvailabilityRepository weeklyAvailabilityRepository;
+    private final AvailabilityOverrideRepository availabilityOverrideRepository;
+    private final AppointmentServiceClient appointmentServiceClient;
+    private final DoctorDirectory doctorDirectory;
+    private final Cache<Long, Schedule> schedules;
+
+    public AvailabilityService(WeeklyAvailabilityRepository weeklyAvailabilityRepository,
+            AvailabilityOverrideRepository availabilityOverrideRepository,
+            AppointmentServiceClient appointmentServiceClient, DoctorDirectory doctorDirectory,
+            @Value("${doctor.availability.schedule-cache.max-size:10000}") long maxSize,
+            @Value("${doctor.availability.schedule-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.weeklyAvailabilityRepository = weeklyAvailabilityRepository;
+        this.availabilityOverrideRepository = availabilityOverrideRepository;
+        this.appointmentServiceClient = appointmentServiceClient;
+        this.doctorDirectory = doctorDirectory;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public AvailabilityDTO getAvailability(Long doctorId) {
+        logger.info("Fetching availability for doctor ID: {}", doctorId);
+        requireDoctor(doctorId);
+        return new AvailabilityDTO(weeklyAvailabilityRepository.findByDoctorId(doctorId),
+                availabilityOverrideRepository.findByDoctorId(doctorId));
+    }
+
+    /** Replaces the doctor's whole template and overrides. */
+    @Transactional
+    public AvailabilityDTO updateAvailability(Long doctorId, AvailabilityDTO availability) {
+        logger.info("Updating availability for doctor ID: {}", doctorId);
+        requireDoctor(doctorId);
+        List<WeeklyAvailability> weekly = availability.getWeekly() == null ? List.of() : availability.getWeekly();
+        List<AvailabilityOverride> overrides = availability.getOverrides() == null ? List.of()
+                : availability.getOverrides();
+        for (WeeklyAvailability window : weekly) {
+            if (window.getDayOfWeek() == null) {
+                throw new IllegalArgumentException("Weekly availability needs a day of week");
+            }
+            validateRange(window.getStartTime(), window.getEndTime());
+            window.setId(null);
+            window.setDoctorId(doctorId);
+        }
+        for (AvailabilityOverride override : overrides) {
+            if (override.getDate() == null) {
+                throw new IllegalArgumentException("Availability override needs a date");
+            }
+            if (override.getStartTime() != null || override.getEndTime() != null) {
+                validateRange(override.getStartTime(), override.getEndTime());
+            }
+            override.setId(null);
+            override.setDoctorId(doctorId);
+        }
+        weeklyAvailabilityRepository.deleteByDoctorId(doctorId);
+        availabilityOverrideRepository.deleteByDoctorId(doctorId);
+        List<WeeklyAvailability> savedWeekly = weeklyAvailabilityRepository.saveAll(weekly);
+        List<AvailabilityOverride> savedOverrides = availabilityOverrideRepository.saveAll(overrides);
+        // Evicting before commit would let a concurrent read cache the old template again.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedules.invalidate(doctorId);
+            }
+        });
+        return new AvailabilityDTO(savedWeekly, savedOverrides);
+    }
+
+    /**
+     * The doctor's available time on {@code date} minus booked appointments.
+     * This is the availability to offer patients: appointment-service's
+     * free-slots only knows bookings and treats every other minute as free.
+     */
+    public List<TimeSlotDTO> getFreeSlots(Long doctorId, LocalDate date) {
+        logger.info("Computing free slots for doctor ID: {} on {}", doctorId, date);
+        requireDoctor(doctorId);
+        SlotBitmap available = schedule(doctorId).compile(date);
+        if (!available.isEmpty()) {
+            available = available.andNot(bookedByDoctor(List.of(doctorId), date).getOrDefault(doctorId, SlotBitmap.EMPTY));
+        }
+        return available.toRanges().stream()
+                .map(range -> new TimeSlotDTO(date.atTime(range[0]),
+                        range[1].equals(LocalTime.MIDNIGHT) ? date.plusDays(1).atStartOfDay() : date.atTime(range[1])))
+                .toList();
+    }
+
+    /**
+     * Doctors of the given specialty who are free at {@code time}: the roster's
+     * availability bitmaps are checked first, and only the doctors still in the
+     * running are sent in a single booked-slots request to appointment-service.
+     */
+    public List<Doctor> getAvailableDoctors(String specialty, LocalDateTime time) {
+        logger.info("Finding {} doctors available at {}", specialty, time);
+        List<Doctor> roster = doctorDirectory.getBySpecialty(specialty);
+        if (roster.isEmpty()) {
+            return List.of();
+        }
+        LocalDate date = time.toLocalDate();
+        int slot = SlotBitmap.slotOf(time.toLocalTime());
+        loadSchedules(roster.stream().map(Doctor::getUserId).collect(Collectors.toSet()));
+
+        List<Doctor> candidates = new ArrayList<>();
+        for (Doctor doctor : roster) {
+            if (schedule(doctor.getUserId()).compile(date).get(slot)) {
+                candidates.add(doctor);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SlotBitmap> booked = bookedByDoctor(candidates.stream().map(Doctor::getUserId).toList(), date);
+        return candidates.stream()
+                .filter(doctor -> !booked.getOrDefault(doctor.getUserId(), SlotBitmap.EMPTY).get(slot))
+                .toList();
+    }
+
+    /** The doctor's compiled availability on {@code date}, before bookings. */
+    SlotBitmap availableOn(Long doctorId, LocalDate date) {
+        return schedule(doctorId).compile(date);
+    }
+
+    /** Whether the doctor has any weekly hours or extra-hours override at all. */
+    boolean hasSchedule(Long doctorId) {
+        return !schedule(doctorId).isEmpty();
+    }
+
+    /** Booked time per doctor on {@code date}, from one appointment-service call. */
+    Map<Long, SlotBitmap> bookedByDoctor(Collection<Long> doctorIds, LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+        List<BookedSlotDTO> slots = appointmentServiceClient.getBookedSlots(doctorIds, dayStart, dayEnd);
+        Map<Long, SlotBitmap> booked = new HashMap<>();
+        for (BookedSlotDTO slot : slots) {
+            LocalTime start = slot.getStart().isBefore(dayStart) ? LocalTime.MIDNIGHT : slot.getStart().toLocalTime();
+            LocalTime end = slot.getEnd().isBefore(dayEnd) ? slot.getEnd().toLocalTime() : LocalTime.MIDNIGHT;
+            booked.merge(slot.getDoctorId(), SlotBitmap.ofRange(start, end), SlotBitmap::or);
+        }
+        return booked;
+    }
+
+    private Schedule schedule(Long doctorId) {
+        return schedules.get(doctorId, id -> Schedule.of(weeklyAvailabilityRepository.findByDoctorId(id),
+                availabilityOverrideRepository.findByDoctorId(id)));
+    }
+
+    /** Compiles the missing schedules of a roster with two queries instead of two per doctor. */
+    void loadSchedules(Set<Long> doctorIds) {
+        Set<Long> missing = doctorIds.stream().filter(id -> schedules.getIfPresent(id) == null)
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Long, List<WeeklyAvailability>> weekly = weeklyAvailabilityRepository.findByDoctorIdIn(missing).stream()
+                .collect(Collectors.groupingBy(WeeklyAvailability::getDoctorId));
+        Map<Long, List<AvailabilityOverride>> overrides = availabilityOverrideRepository.findByDoctorIdIn(missing)
+                .stream().collect(Collectors.groupingBy(AvailabilityOverride::getDoctorId));
+        for (Long doctorId : missing) {
+            schedules.asMap().putIfAbsent(doctorId, Schedule.of(weekly.getOrDefault(doctorId, List.of()),
+                    overrides.getOrDefault(doctorId, List.of())));
+        }
+    }
+
+    private void requireDoctor(Long doctorId) {
+        if (doctorDirectory.getById(doctorId).isEmpty()) {
+            throw new ResourceNotFoundException("Doctor not found with ID: " + doctorId);
+        }
+    }
+
+    private static void validateRange(LocalTime start, LocalTime end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Availability needs both a start and an end time");
+        }
+        if (!end.equals(LocalTime.MIDNIGHT) && !end.isAfter(start)) {
+            throw new IllegalArgumentException("Availability end time must be after its start time");
+        }
+    }
+
+    /** A doctor's template compiled to one bitmap per weekday, plus overrides by date. */
+    private record Schedule(Map<DayOfWeek, SlotBitmap> weekly, Map<LocalDate, List<AvailabilityOverride>> overrides) {
+        static Schedule of(List<WeeklyAvailability> windows, List<AvailabilityOverride> overrides) {
+            Map<DayOfWeek, SlotBitmap> weekly = new EnumMap<>(DayOfWeek.class);
+            for (WeeklyAvailability window : windows) {
+                weekly.merge(window.getDayOfWeek(), SlotBitmap.ofRange(window.getStartTime(), window.getEndTime()),
+                        SlotBitmap::or);
+            }
+            Map<LocalDate, List<AvailabilityOverride>> byDate = overrides.stream()
+                    .collect(Collectors.groupingBy(AvailabilityOverride::getDate));
+            return new Schedule(weekly, byDate);
+        }
+
+        boolean isEmpty() {
+            return weekly.isEmpty() && overrides.values().stream()
+                    .flatMap(List::stream)
+                    .noneMatch(AvailabilityOverride::isAvailable);
+        }
+
+        /** Time off is applied after extra hours, so a blocked range always wins. */
+        SlotBitmap compile(LocalDate date) {
+            SlotBitmap day = weekly.getOrDefault(date.getDayOfWeek(), SlotBitmap.EMPTY);
+            List<AvailabilityOverride> dated = overrides.get(date);
+            if (dated == null) {
+                return day;
+            }
+            for (AvailabilityOverride override : dated) {
+                if (override.isAvailable()) {
+                    day = day.or(range(override));
+                }
+            }
+            for (AvailabilityOverride override : dated) {
+                if (!override.isAvailable()) {
+                    day = day.andNot(range(override));
+                }
+            }
+            return day;
+        }
+
+        private static SlotBitmap range(AvailabilityOverride override) {
+            return override.getStartTime() == null ? SlotBitmap.fullDay()
+                    : SlotBitmap.ofRange(override.getStartTime(), override.getEndTime());
+        }
+    }
+}
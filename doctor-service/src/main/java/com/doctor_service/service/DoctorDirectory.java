@@ -0,0 +1,169 @@
+package com.doctor_service.service;
+
+import com.doctor_service.entity.Doctor;
+import com.doctor_service.repository.DoctorRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-through, in-memory copy of the doctor roster. Readers see an immutable
+ * snapshot (all doctors plus a case-insensitive specialty index); writes swap
+ * in a new snapshot, so reads of known doctors never touch the database. The
+ * snapshot is also reloaded periodically to pick up changes made by other
+ * replicas. Every snapshot that changes the roster gets a new version number
+ * from a single monotonic counter, and a reload only swaps in its rows if no
+ * write landed while it queried. Swaps and the matching search index updates
+ * happen under one lock, so the index always describes the current snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class DoctorDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(DoctorDirectory.class);
+    private final DoctorRepository doctorRepository;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final Object swapLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${doctor.directory.refresh-ms:300000}",
+            initialDelayString = "${doctor.directory.refresh-ms:300000}")
+    public void reload() {
+        while (true) {
+            // Read the current snapshot before querying: if a put() lands in between,
+            // the compare-and-set fails and the reload retries with fresh rows.
+            Snapshot previous = snapshot.get();
+            List<Doctor> doctors = doctorRepository.findAll();
+            if (previous != null && previous.all().equals(sorted(doctors))) {
+                logger.debug("Doctor directory unchanged at version {}", previous.version());
+                return;
+            }
+            Snapshot loaded = Snapshot.of(doctors, versions.incrementAndGet());
+            synchronized (swapLock) {
+                if (snapshot.compareAndSet(previous, loaded)) {
+                    doctorSearchIndex.rebuild(doctors);
+                    logger.info("Doctor directory loaded with {} doctors at version {}", doctors.size(),
+                            loaded.version());
+                    return;
+                }
+            }
+            logger.debug("Doctor directory changed during reload; retrying");
+        }
+    }
+
+    /**
+     * The current roster together with its version, read from one snapshot so
+     * the version always describes exactly these doctors.
+     */
+    public Roster getRoster() {
+        Snapshot current = current();
+        return new Roster(current.version(), current.all());
+    }
+
+    public record Roster(long version, List<Doctor> doctors) {
+    }
+
+    public List<Doctor> getAll() {
+        return current().all();
+    }
+
+    public List<Doctor> getBySpecialty(String specialty) {
+        return current().bySpecialty().getOrDefault(normalize(specialty), List.of());
+    }
+
+    /**
+     * Looks up a doctor, falling back to the database for profiles not yet in
+     * the snapshot, such as one just created on another replica, which would
+     * otherwise be unknown here until the next periodic reload.
+     */
+    public Optional<Doctor> getById(Long id) {
+        Doctor doctor = current().byId().get(id);
+        if (doctor != null) {
+            return Optional.of(doctor);
+        }
+        Optional<Doctor> loaded = doctorRepository.findById(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /** Swaps in a snapshot containing the saved doctor. */
+    public void put(Doctor doctor) {
+        current();
+        synchronized (swapLock) {
+            Snapshot old = snapshot.get();
+            if (doctor.equals(old.byId().get(doctor.getUserId()))) {
+                return;
+            }
+            Map<Long, Doctor> doctors = new LinkedHashMap<>(old.byId());
+            doctors.put(doctor.getUserId(), doctor);
+            snapshot.set(Snapshot.of(doctors.values(), versions.incrementAndGet()));
+            doctorSearchIndex.update(doctor);
+        }
+    }
+
+    /** Ranked, typo-tolerant prefix search over names, specialty and qualifications. */
+    public List<Doctor> search(String query, int limit) {
+        Map<Long, Doctor> doctors = current().byId();
+        return doctorSearchIndex.search(query, limit).stream()
+                .map(doctors::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    reload();
+                    current = snapshot.get();
+                }
+            }
+        }
+        return current;
+    }
+
+    private static List<Doctor> sorted(Collection<Doctor> doctors) {
+        List<Doctor> all = new ArrayList<>(doctors);
+        all.sort(Comparator.comparing(Doctor::getUserId));
+        return all;
+    }
+
+    static String normalize(String specialty) {
+        return specialty == null ? "" : specialty.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(List<Doctor> all, Map<Long, Doctor> byId, Map<String, List<Doctor>> bySpecialty,
+            long version) {
+        static Snapshot of(Collection<Doctor> doctors, long version) {
+            List<Doctor> all = sorted(doctors);
+            Map<Long, Doctor> byId = new LinkedHashMap<>();
+            Map<String, List<Doctor>> bySpecialty = new HashMap<>();
+            for (Doctor doctor : all) {
+                byId.put(doctor.getUserId(), doctor);
+                bySpecialty.computeIfAbsent(normalize(doctor.getSpecialty()), key -> new ArrayList<>()).add(doctor);
+            }
+            bySpecialty.replaceAll((key, list) -> List.copyOf(list));
+            return new Snapshot(List.copyOf(all), Map.copyOf(byId), Map.copyOf(bySpecialty), version);
+        }
+    }
+}
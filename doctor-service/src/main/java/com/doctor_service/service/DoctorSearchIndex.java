@@ -0,0 +1,188 @@
+package com.doctor_service.service;
+
+import com.doctor_service.entity.Doctor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over doctors' names, specialty and qualifications for
+ * autocomplete. Terms are kept sorted so a query term matches by exact term,
+ * by prefix (a range of the term map) or, failing both, within a small edit
+ * distance. Results must match every query term and are ranked by match
+ * quality and the field it was found in.
+ */
+@Component
+public class DoctorSearchIndex {
+    private static final float NAME_WEIGHT = 3f;
+    private static final float SPECIALTY_WEIGHT = 2f;
+    private static final float QUALIFICATIONS_WEIGHT = 1f;
+    private static final float EXACT = 1f;
+    private static final float PREFIX = 0.7f;
+    private static final float FUZZY = 0.4f;
+
+    // term -> doctor ID -> best field weight the term appears in
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByDoctor = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void rebuild(Collection<Doctor> doctors) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByDoctor.clear();
+            doctors.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void update(Doctor doctor) {
+        lock.writeLock().lock();
+        try {
+            remove(doctor.getUserId());
+            index(doctor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns matching doctor IDs, best match first. */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termScores = match(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> match(String term) {
+        Map<Long, Float> scores = new HashMap<>();
+        // Exact and prefix matches: every indexed term in [term, term + '\uffff').
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.subMap(term, true, term + '\uffff', false)
+                .entrySet()) {
+            collect(scores, entry.getValue(), entry.getKey().equals(term) ? EXACT : PREFIX);
+        }
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (scores.isEmpty() && maxEdits > 0) {
+            for (Map.Entry<String, Map<Long, Float>> entry : postings.entrySet()) {
+                String candidate = entry.getKey();
+                // Compare against the candidate's prefix so typos in a partial word still match.
+                String head = candidate.length() > term.length() ? candidate.substring(0, term.length()) : candidate;
+                if (Math.abs(head.length() - term.length()) <= maxEdits
+                        && withinDistance(term, head, maxEdits)) {
+                    collect(scores, entry.getValue(), FUZZY);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void collect(Map<Long, Float> scores, Map<Long, Float> posting, float quality) {
+        posting.forEach((id, weight) -> scores.merge(id, weight * quality, Math::max));
+    }
+
+    private void index(Doctor doctor) {
+        Long id = doctor.getUserId();
+        Set<String> terms = new HashSet<>();
+        add(id, doctor.getFirstName(), NAME_WEIGHT, terms);
+        add(id, doctor.getLastName(), NAME_WEIGHT, terms);
+        add(id, doctor.getSpecialty(), SPECIALTY_WEIGHT, terms);
+        add(id, doctor.getQualifications(), QUALIFICATIONS_WEIGHT, terms);
+        termsByDoctor.put(id, terms);
+    }
+
+    private void add(Long id, String text, float weight, Set<String> terms) {
+        for (String term : tokenize(text)) {
+            postings.computeIfAbsent(term, key -> new HashMap<>()).merge(id, weight, Math::max);
+            terms.add(term);
+        }
+    }
+
+    private void remove(Long id) {
+        Set<String> terms = termsByDoctor.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    // Levenshtein distance with early exit once every cell in a row exceeds max.
+    private static boolean withinDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= max;
+    }
+}
@@ -10,9 +10,13 @@ import com.doctor_service.repository.DoctorRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
@@ -21,19 +25,23 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import com.doctor_service.DTO.PatientDTO.PatientDTO;
+import com.doctor_service.DTO.PatientDTO.PatientSummaryDTO;
 import com.doctor_service.DTO.AppointmentDTO.*;
 
 @Service
 @RequiredArgsConstructor
 public class DoctorService {
     private static final Logger logger = LoggerFactory.getLogger(DoctorService.class);
+    // Largest page appointment-service hands out
+    private static final int PATIENT_PAGE_SIZE = 200;
     private final DoctorRepository doctorRepository;
     private final UserServiceClient userServiceClient;
     private final AppointmentServiceClient appointmentServiceClient;
     private final PatientServiceClient patientServiceClient;
-
-    @Value("${user.service.url}")
-    private String userServiceUrl;
+    private final DoctorDirectory doctorDirectory;
+    private final ObjectMapper objectMapper;
+    // Distinguishes roster versions of different instances behind the same URL
+    private final String rosterEpoch = Long.toString(System.currentTimeMillis(), 36);
 
     public Doctor getDoctorProfile(Long userId, String role) {
         logger.info("Fetching doctor profile for user ID: {}", userId);
@@ -60,23 +68,60 @@ public class DoctorService {
         doctor.setLicenseNumber(updatedDoctor.getLicenseNumber());
         doctor.setQualifications(updatedDoctor.getQualifications());
         doctor.setYearsOfExperience(updatedDoctor.getYearsOfExperience());
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        doctorDirectory.put(saved);
+        return saved;
     }
 
-    public List<Doctor> getAllDoctors() {
+    /** The roster as of one directory snapshot; pair it with {@link #getRosterETag(DoctorDirectory.Roster)}. */
+    public DoctorDirectory.Roster getRoster() {
         logger.info("Fetching all doctors");
-        return doctorRepository.findAll();
+        return doctorDirectory.getRoster();
+    }
+
+    /** Returns one page of the roster, ordered by doctor ID. */
+    public List<Doctor> getDoctorsPage(DoctorDirectory.Roster roster, int page, int size) {
+        logger.info("Fetching doctors page {} of size {}", page, size);
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Size must be between 1 and 100");
+        }
+        List<Doctor> doctors = roster.doctors();
+        long from = (long) page * size;
+        if (from >= doctors.size()) {
+            return List.of();
+        }
+        return doctors.subList((int) from, (int) Math.min(doctors.size(), from + size));
+    }
+
+    /**
+     * Strong validator for a roster listing. Directory versions come from a
+     * counter that advances on every swap, so different rosters never share
+     * a tag, and the tag is taken from the same snapshot as the body.
+     */
+    public String getRosterETag(DoctorDirectory.Roster roster) {
+        return "\"" + rosterEpoch + "-" + roster.version() + "\"";
     }
 
     public Doctor getDoctorById(Long id) {
         logger.info("Fetching doctor with ID: {}", id);
-        return doctorRepository.findById(id)
+        return doctorDirectory.getById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with ID: " + id));
     }
 
     public List<Doctor> getDoctorsBySpecialty(String specialty) {
         logger.info("Fetching doctors by specialty: {}", specialty);
-        return doctorRepository.findBySpecialty(specialty);
+        return doctorDirectory.getBySpecialty(specialty);
+    }
+
+    public List<Doctor> searchDoctors(String query, int limit) {
+        logger.info("Searching doctors for: {}", query);
+        if (limit <= 0 || limit > 50) {
+            throw new IllegalArgumentException("Limit must be between 1 and 50");
+        }
+        return doctorDirectory.search(query, limit);
     }
 
     public Doctor createDoctorProfile(Long userId, Doctor doctor, String role) {
@@ -96,7 +141,9 @@ public class DoctorService {
         // Set the user ID for the doctor profile
         doctor.setUserId(userId);
 
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        doctorDirectory.put(saved);
+        return saved;
     }
 
     public void validateUser(Long userId) {
@@ -111,26 +158,18 @@ public class DoctorService {
     }
 
     /**
-     * Returns the patient summary for a doctor, only if the doctor has an
-     * appointment with the patient.
+     * Returns summaries of every patient who has an appointment with the
+     * doctor: one call to appointment-service for the distinct patient IDs and
+     * one bulk call to patient-service for their summaries.
      */
-    // public List<PatientDTO> getPatientSummaryForDoctor(Long doctorId, Long
-    // patientId) {
-    // logger.info("Checking if doctor {} has appointment with patient {}",
-    // doctorId, patientId);
-    // List<AppointmentDTO> appointments =
-    // appointmentServiceClient.getDoctorAppointments(doctorId);
-    // boolean hasAppointment = appointments.stream()
-    // .anyMatch(a -> a.getPatientId() != null &&
-    // a.getPatientId().equals(patientId));
-    // if (!hasAppointment) {
-    // throw new UnauthorizedException("Doctor does not have an appointment with
-    // this patient");
-    // }
-    // logger.info("Doctor {} has appointment with patient {}. Fetching summary.",
-    // doctorId, patientId);
-    // return patientServiceClient.getPatientSummary(patientId);
-    // }
+    public List<PatientSummaryDTO> getAllPatientSummariesForDoctor(Long doctorId) {
+        logger.info("Fetching patient summaries for doctor ID: {}", doctorId);
+        List<Long> patientIds = appointmentServiceClient.getDoctorPatientIds(doctorId);
+        if (patientIds.isEmpty()) {
+            return List.of();
+        }
+        return patientServiceClient.getPatientSummaries(patientIds);
+    }
 
     /**
      * Returns all patient summaries for patients who have an appointment with the
@@ -144,11 +183,27 @@ public class DoctorService {
     }
 
     /**
-     * Returns all patients with their medical history from patient-service.
+     * Writes all patients with their medical history as a JSON array, one
+     * patient-service page at a time, so memory use is bounded by the page
+     * size rather than the clinic size.
      */
-    public List<PatientDTO> getAllPatientsWithHistory() {
-        logger.info("Fetching all patients with medical history");
-        List<PatientDTO> patients = patientServiceClient.getAllPatientsWithHistory();
-        return patients;
+    public void writeAllPatientsWithHistory(OutputStream out) throws IOException {
+        logger.info("Streaming all patients with medical history");
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.writeStartArray();
+        String cursor = null;
+        do {
+            ResponseEntity<List<PatientDTO>> page = patientServiceClient.getPatientsWithHistoryPage(cursor,
+                    PATIENT_PAGE_SIZE);
+            if (page.getBody() != null) {
+                for (PatientDTO patient : page.getBody()) {
+                    generator.writeObject(patient);
+                }
+            }
+            generator.flush();
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+        } while (cursor != null);
+        generator.writeEndArray();
+        generator.flush();
     }
 }
\ No newline at end of file
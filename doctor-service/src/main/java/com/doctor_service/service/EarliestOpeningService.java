@@ -0,0 +1,172 @@
+package com.doctor_service.service;
+
+import com.doctor_service.DTO.AvailabilityDTO.OpeningDTO;
+import com.doctor_service.entity.Doctor;
+import com.doctor_service.util.SlotBitmap;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the earliest free openings across a specialty with a k-way merge:
+ * each doctor contributes a lazy iterator over their free openings in time
+ * order, and a heap keyed on each iterator's next opening yields them
+ * globally earliest first until enough are found. Booked slots are fetched
+ * for the whole roster one day at a time, and only for the days the merge
+ * actually reaches.
+ */
+@Service
+@RequiredArgsConstructor
+public class EarliestOpeningService {
+    private static final Logger logger = LoggerFactory.getLogger(EarliestOpeningService.class);
+    private final DoctorDirectory doctorDirectory;
+    private final AvailabilityService availabilityService;
+
+    @Value("${doctor.availability.search-days:30}")
+    private int searchDays;
+
+    public List<OpeningDTO> findEarliestOpenings(String specialty, LocalDateTime after, int limit,
+            int durationMinutes) {
+        logger.info("Finding the {} earliest {} openings after {}", limit, specialty, after);
+        if (limit <= 0 || limit > 50) {
+            throw new IllegalArgumentException("Limit must be between 1 and 50");
+        }
+        if (durationMinutes <= 0 || durationMinutes > 24 * 60) {
+            throw new IllegalArgumentException("Duration must be between 1 and 1440 minutes");
+        }
+        List<Doctor> roster = doctorDirectory.getBySpecialty(specialty);
+        if (roster.isEmpty()) {
+            return List.of();
+        }
+        availabilityService.loadSchedules(roster.stream().map(Doctor::getUserId).collect(Collectors.toSet()));
+        List<Doctor> scheduled = roster.stream()
+                .filter(doctor -> availabilityService.hasSchedule(doctor.getUserId()))
+                .toList();
+        if (scheduled.isEmpty()) {
+            return List.of();
+        }
+
+        Search search = new Search(after, after.toLocalDate().plusDays(searchDays),
+                Duration.ofMinutes(durationMinutes),
+                scheduled.stream().map(Doctor::getUserId).collect(Collectors.toSet()));
+        PriorityQueue<OpeningIterator> heap = new PriorityQueue<>(Comparator
+                .comparing(OpeningIterator::peek)
+                .thenComparing(iterator -> iterator.doctor.getUserId()));
+        for (Doctor doctor : scheduled) {
+            OpeningIterator iterator = new OpeningIterator(doctor, search);
+            if (iterator.peek() != null) {
+                heap.add(iterator);
+            }
+        }
+
+        List<OpeningDTO> openings = new ArrayList<>(limit);
+        while (openings.size() < limit && !heap.isEmpty()) {
+            OpeningIterator iterator = heap.poll();
+            LocalDateTime start = iterator.next();
+            openings.add(new OpeningDTO(iterator.doctor.getUserId(), iterator.doctor.getFirstName(),
+                    iterator.doctor.getLastName(), start, start.plus(search.duration)));
+            if (iterator.peek() != null) {
+                heap.add(iterator);
+            }
+        }
+        return openings;
+    }
+
+    /** Parameters of one search plus the booked slots fetched so far, by day. */
+    private final class Search {
+        private final LocalDateTime after;
+        private final LocalDate lastDay;
+        private final Duration duration;
+        private final Set<Long> doctorIds;
+        private final Map<LocalDate, Map<Long, SlotBitmap>> bookedByDay = new HashMap<>();
+
+        Search(LocalDateTime after, LocalDate lastDay, Duration duration, Set<Long> doctorIds) {
+            this.after = after;
+            this.lastDay = lastDay;
+            this.duration = duration;
+            this.doctorIds = doctorIds;
+        }
+
+        SlotBitmap booked(Long doctorId, LocalDate date) {
+            return bookedByDay.computeIfAbsent(date, day -> availabilityService.bookedByDoctor(doctorIds, day))
+                    .getOrDefault(doctorId, SlotBitmap.EMPTY);
+        }
+    }
+
+    /** One doctor's free openings in time order, computed a day at a time. */
+    private final class OpeningIterator {
+        private final Doctor doctor;
+        private final Search search;
+        private final Deque<LocalDateTime> pending = new ArrayDeque<>();
+        private LocalDate date;
+
+        OpeningIterator(Doctor doctor, Search search) {
+            this.doctor = doctor;
+            this.search = search;
+            this.date = search.after.toLocalDate();
+            fill();
+        }
+
+        LocalDateTime peek() {
+            return pending.peekFirst();
+        }
+
+        LocalDateTime next() {
+            LocalDateTime start = pending.pollFirst();
+            fill();
+            return start;
+        }
+
+        private void fill() {
+            while (pending.isEmpty() && !date.isAfter(search.lastDay)) {
+                addOpenings(date);
+                date = date.plusDays(1);
+            }
+        }
+
+        private void addOpenings(LocalDate day) {
+            SlotBitmap available = availabilityService.availableOn(doctor.getUserId(), day);
+            if (available.isEmpty()) {
+                return;
+            }
+            SlotBitmap free = available.andNot(search.booked(doctor.getUserId(), day));
+            LocalDateTime earliest = roundUp(search.after);
+            for (LocalTime[] range : free.toRanges()) {
+                LocalDateTime end = range[1].equals(LocalTime.MIDNIGHT) ? day.plusDays(1).atStartOfDay()
+                        : day.atTime(range[1]);
+                LocalDateTime start = day.atTime(range[0]);
+                if (start.isBefore(earliest)) {
+                    start = earliest;
+                }
+                for (; !start.plus(search.duration).isAfter(end); start = start.plus(search.duration)) {
+                    pending.addLast(start);
+                }
+            }
+        }
+    }
+
+    /** Next slot boundary at or after {@code time}. */
+    private static LocalDateTime roundUp(LocalDateTime time) {
+        LocalDateTime floor = time.truncatedTo(ChronoUnit.MINUTES)
+                .withMinute(time.getMinute() / SlotBitmap.SLOT_MINUTES * SlotBitmap.SLOT_MINUTES);
+        return floor.equals(time) ? floor : floor.plusMinutes(SlotBitmap.SLOT_MINUTES);
+    }
+}
@@ -0,0 +1,119 @@
+package com.doctor_service.util;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One day as 288 five-minute slots, one bit per slot packed into longs, so
+ * combining availability and bookings is a handful of word-level operations.
+ * Instances are immutable; the combining methods return new bitmaps.
+ */
+public final class SlotBitmap {
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+
+    public static final SlotBitmap EMPTY = new SlotBitmap(new long[WORDS]);
+
+    private final long[] words;
+
+    private SlotBitmap(long[] words) {
+        this.words = words;
+    }
+
+    /** Slot containing the given time. */
+    public static int slotOf(LocalTime time) {
+        return time.toSecondOfDay() / 60 / SLOT_MINUTES;
+    }
+
+    /** Slots covering {@code [start, end)}; an end of midnight means end of day. */
+    public static SlotBitmap ofRange(LocalTime start, LocalTime end) {
+        int from = slotOf(start);
+        int endMinutes = end.equals(LocalTime.MIDNIGHT) ? 24 * 60 : end.toSecondOfDay() / 60;
+        int to = Math.min(SLOTS_PER_DAY, (endMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        long[] words = new long[WORDS];
+        for (int word = from >>> 6; from < to; word++) {
+            int lo = from & 63;
+            int hi = Math.min(64, to - (word << 6));
+            long mask = (hi == 64 ? -1L : (1L << hi) - 1) & (-1L << lo);
+            words[word] |= mask;
+            from = (word + 1) << 6;
+        }
+        return new SlotBitmap(words);
+    }
+
+    public static SlotBitmap fullDay() {
+        return ofRange(LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+    }
+
+    public SlotBitmap or(SlotBitmap other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new SlotBitmap(result);
+    }
+
+    public SlotBitmap and(SlotBitmap other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new SlotBitmap(result);
+    }
+
+    public SlotBitmap andNot(SlotBitmap other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & ~other.words[i];
+        }
+        return new SlotBitmap(result);
+    }
+
+    public boolean get(int slot) {
+        return (words[slot >>> 6] & (1L << (slot & 63))) != 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Maximal runs of set slots as [start, end) times; an end of midnight means end of day. */
+    public List<LocalTime[]> toRanges() {
+        List<LocalTime[]> ranges = new ArrayList<>();
+        int slot = 0;
+        while (slot < SLOTS_PER_DAY) {
+            if (!get(slot)) {
+                slot++;
+                continue;
+            }
+            int start = slot;
+            while (slot < SLOTS_PER_DAY && get(slot)) {
+                slot++;
+            }
+            ranges.add(new LocalTime[] { toTime(start), toTime(slot) });
+        }
+        return ranges;
+    }
+
+    private static LocalTime toTime(int slot) {
+        return slot >= SLOTS_PER_DAY ? LocalTime.MIDNIGHT : LocalTime.ofSecondOfDay(slot * SLOT_MINUTES * 60L);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SlotBitmap other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
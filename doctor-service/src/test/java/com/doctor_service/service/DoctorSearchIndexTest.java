@@ -0,0 +1,72 @@
+package com.doctor_service.service;
+
+import com.doctor_service.entity.Doctor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DoctorSearchIndexTest {
+    private final DoctorSearchIndex index = new DoctorSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.rebuild(List.of(
+                doctor(1L, "Maria", "Cardoso", "Cardiology", "MD"),
+                doctor(2L, "John", "Smith", "Dermatology", "MD, cardiology fellowship"),
+                doctor(3L, "Carla", "Mendes", "Pediatrics", "MBBS")));
+    }
+
+    @Test
+    void specialtyMatchOutranksAQualificationsMatch() {
+        assertEquals(List.of(1L, 2L), index.search("cardiology", 10));
+    }
+
+    @Test
+    void matchesByPrefix() {
+        assertEquals(List.of(3L), index.search("pedi", 10));
+        // "car" also prefixes "cardiology" in doctor 2's qualifications, the lowest-weighted field.
+        assertEquals(List.of(1L, 3L, 2L), index.search("car", 10));
+    }
+
+    @Test
+    void fallsBackToEditDistanceWhenNothingMatchesByPrefix() {
+        assertEquals(List.of(2L), index.search("smyth", 10));
+        // A transposition is two edits, more than a five-letter term allows.
+        assertEquals(List.of(), index.search("smiht", 10));
+        // Terms under four letters must match exactly or by prefix.
+        assertEquals(List.of(), index.search("smx", 10));
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        assertEquals(List.of(1L), index.search("maria cardiology", 10));
+        assertEquals(List.of(), index.search("maria pediatrics", 10));
+    }
+
+    @Test
+    void updateReplacesADoctorsTerms() {
+        index.update(doctor(3L, "Carla", "Mendes", "Neurology", "MBBS"));
+
+        assertEquals(List.of(), index.search("pediatrics", 10));
+        assertEquals(List.of(3L), index.search("neuro", 10));
+    }
+
+    @Test
+    void limitsTheNumberOfResults() {
+        assertEquals(List.of(1L), index.search("car", 1));
+    }
+
+    private static Doctor doctor(Long id, String firstName, String lastName, String specialty,
+            String qualifications) {
+        Doctor doctor = new Doctor();
+        doctor.setUserId(id);
+        doctor.setFirstName(firstName);
+        doctor.setLastName(lastName);
+        doctor.setSpecialty(specialty);
+        doctor.setQualifications(qualifications);
+        return doctor;
+    }
+}
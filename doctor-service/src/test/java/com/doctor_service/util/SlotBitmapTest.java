@@ -0,0 +1,111 @@
+package com.doctor_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotBitmapTest {
+    // Slot 63 is the last bit of the first word, 64 the first bit of the second.
+    private static final LocalTime SLOT_63 = LocalTime.of(5, 15);
+    private static final LocalTime SLOT_64 = LocalTime.of(5, 20);
+
+    @Test
+    void slotOfRoundsDownToTheFiveMinuteSlot() {
+        assertEquals(0, SlotBitmap.slotOf(LocalTime.MIDNIGHT));
+        assertEquals(63, SlotBitmap.slotOf(SLOT_63));
+        assertEquals(63, SlotBitmap.slotOf(LocalTime.of(5, 19, 59)));
+        assertEquals(64, SlotBitmap.slotOf(SLOT_64));
+        assertEquals(287, SlotBitmap.slotOf(LocalTime.of(23, 59)));
+    }
+
+    @Test
+    void rangeEndingOnAWordBoundaryStaysInTheFirstWord() {
+        SlotBitmap bitmap = SlotBitmap.ofRange(LocalTime.of(5, 0), SLOT_64);
+
+        assertFalse(bitmap.get(59));
+        assertTrue(bitmap.get(60));
+        assertTrue(bitmap.get(63));
+        assertFalse(bitmap.get(64));
+    }
+
+    @Test
+    void rangeStartingOnAWordBoundaryStaysInTheSecondWord() {
+        SlotBitmap bitmap = SlotBitmap.ofRange(SLOT_64, LocalTime.of(5, 30));
+
+        assertFalse(bitmap.get(63));
+        assertTrue(bitmap.get(64));
+        assertTrue(bitmap.get(65));
+        assertFalse(bitmap.get(66));
+    }
+
+    @Test
+    void rangeAcrossWordBoundariesSetsEverySlot() {
+        SlotBitmap bitmap = SlotBitmap.ofRange(SLOT_63, LocalTime.of(11, 0));
+
+        for (int slot = 63; slot < 132; slot++) {
+            assertTrue(bitmap.get(slot), "slot " + slot);
+        }
+        assertFalse(bitmap.get(62));
+        assertFalse(bitmap.get(132));
+        assertEquals(List.of(range(SLOT_63, LocalTime.of(11, 0))), ranges(bitmap));
+    }
+
+    @Test
+    void midnightEndIncludesTheLastSlot() {
+        SlotBitmap bitmap = SlotBitmap.ofRange(LocalTime.of(23, 50), LocalTime.MIDNIGHT);
+
+        assertFalse(bitmap.get(285));
+        assertTrue(bitmap.get(286));
+        assertTrue(bitmap.get(287));
+        assertEquals(List.of(range(LocalTime.of(23, 50), LocalTime.MIDNIGHT)), ranges(bitmap));
+    }
+
+    @Test
+    void partialSlotAtTheEndIsIncluded() {
+        SlotBitmap bitmap = SlotBitmap.ofRange(LocalTime.of(9, 0), LocalTime.of(9, 7));
+
+        assertEquals(List.of(range(LocalTime.of(9, 0), LocalTime.of(9, 10))), ranges(bitmap));
+    }
+
+    @Test
+    void fullDayIsOneRange() {
+        assertTrue(SlotBitmap.fullDay().get(0));
+        assertTrue(SlotBitmap.fullDay().get(287));
+        assertEquals(List.of(range(LocalTime.MIDNIGHT, LocalTime.MIDNIGHT)), ranges(SlotBitmap.fullDay()));
+    }
+
+    @Test
+    void andNotCarvesBookingsOutOfAvailability() {
+        SlotBitmap available = SlotBitmap.ofRange(LocalTime.of(5, 0), LocalTime.of(6, 0));
+        SlotBitmap booked = SlotBitmap.ofRange(SLOT_63, LocalTime.of(5, 25));
+
+        assertEquals(List.of(range(LocalTime.of(5, 0), SLOT_63), range(LocalTime.of(5, 25), LocalTime.of(6, 0))),
+                ranges(available.andNot(booked)));
+    }
+
+    @Test
+    void combiningMethodsWorkAcrossWords() {
+        SlotBitmap morning = SlotBitmap.ofRange(LocalTime.of(5, 0), SLOT_64);
+        SlotBitmap later = SlotBitmap.ofRange(SLOT_64, LocalTime.of(6, 0));
+
+        assertEquals(SlotBitmap.ofRange(LocalTime.of(5, 0), LocalTime.of(6, 0)), morning.or(later));
+        assertTrue(morning.and(later).isEmpty());
+        assertEquals(SlotBitmap.EMPTY, morning.and(later));
+        assertEquals(morning, morning.andNot(later));
+        assertTrue(SlotBitmap.EMPTY.isEmpty());
+        assertEquals(List.of(), ranges(SlotBitmap.EMPTY));
+    }
+
+    private static List<String> ranges(SlotBitmap bitmap) {
+        return bitmap.toRanges().stream().map(r -> range(r[0], r[1])).toList();
+    }
+
+    private static String range(LocalTime start, LocalTime end) {
+        return start + "-" + end;
+    }
+}
@@ -0,0 +1,67 @@
+package com.feign_benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loopback stand-in for user-service's {@code /api/users/validate/{id}}:
+ * answers every GET with a small JSON body, so a benchmark measures the
+ * client transport rather than the server. It also counts requests and the
+ * distinct client sockets they arrived on, i.e. how often the client had to
+ * open a new connection.
+ */
+final class StubServer implements AutoCloseable {
+    private static final byte[] BODY = "true".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requests = new AtomicLong();
+    private final Set<InetSocketAddress> clientSockets = ConcurrentHashMap.newKeySet();
+
+    StubServer(int threads) throws IOException {
+        // Without TCP_NODELAY the header/body writes hit Nagle + delayed ACK and every call waits ~40ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/api/users/validate/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            requests.incrementAndGet();
+            clientSockets.add(exchange.getRemoteAddress());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.start();
+    }
+
+    String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long connections() {
+        return clientSockets.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
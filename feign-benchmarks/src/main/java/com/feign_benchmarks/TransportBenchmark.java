@@ -0,0 +1,101 @@
+package com.feign_benchmarks;
+
+import feign.Client;
+import feign.Feign;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a Feign client on the transport the services used before
+ * (Feign's {@code HttpURLConnection} client) and on the pooled Apache
+ * HttpClient 5 they use now, configured like the services'
+ * {@code spring.cloud.openfeign.httpclient.*} properties. Sixteen threads
+ * call one stub route concurrently, as the validation pool does at peak.
+ * At teardown each run prints how many connections its requests needed.
+ * Pass {@code -p targetUrl=http://host:port} to call a remote server instead
+ * of the loopback stub.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class TransportBenchmark {
+    interface UserValidationClient {
+        @RequestLine("GET /api/users/validate/{userId}")
+        String validateUser(@feign.Param("userId") long userId);
+    }
+
+    @Param({ "" })
+    public String targetUrl;
+
+    private StubServer server;
+    private String url;
+    private CloseableHttpClient pooledHttpClient;
+    private UserValidationClient defaultClient;
+    private UserValidationClient pooledClient;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new StubServer(32);
+        url = targetUrl.isEmpty() ? server.url() : targetUrl;
+        pooledHttpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(200)
+                        .setMaxConnPerRoute(50)
+                        .setConnectionTimeToLive(TimeValue.ofSeconds(900))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableCookieManagement()
+                .build();
+        defaultClient = client(new Client.Default(null, null));
+        pooledClient = client(new ApacheHttp5Client(pooledHttpClient));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.printf("%n%d requests over %d connections (%.1f requests per connection)%n",
+                server.requests(), server.connections(),
+                (double) server.requests() / Math.max(1, server.connections()));
+        pooledHttpClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public String httpUrlConnection() {
+        return defaultClient.validateUser(ThreadLocalRandom.current().nextLong(1, 10_000));
+    }
+
+    @Benchmark
+    public String pooledHttpClient5() {
+        return pooledClient.validateUser(ThreadLocalRandom.current().nextLong(1, 10_000));
+    }
+
+    private UserValidationClient client(Client transport) {
+        return Feign.builder().client(transport).target(UserValidationClient.class, url);
+    }
+}
@@ -0,0 +1,18 @@
+package com.patient_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** A medical history entry without its patient, selected by JPQL constructor expression. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalHistoryDTO {
+    private Long id;
+    private Long patientId;
+    private String description;
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,17 @@
+package com.patient_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** A patient's own view of one history entry; selected directly by JPQL constructor expression. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalHistoryEntryDTO {
+    private Long id;
+    private String description;
+    private LocalDateTime recordedAt;
+}
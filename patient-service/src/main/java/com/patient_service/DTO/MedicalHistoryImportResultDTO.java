@@ -0,0 +1,27 @@
+package com.patient_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalHistoryImportResultDTO {
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<RowRejection> rejections; // capped; see rejectionsTruncated
+    private boolean rejectionsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowRejection {
+        private long line; // 1-based line of the body on which the row starts
+        private String message;
+    }
+}
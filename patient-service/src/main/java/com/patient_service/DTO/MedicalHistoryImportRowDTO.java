@@ -0,0 +1,17 @@
+package com.patient_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** One NDJSON line of a medical history import. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalHistoryImportRowDTO {
+    private Long patientId;
+    private String description;
+    private LocalDateTime recordedAt; // defaults to the import time when absent
+}
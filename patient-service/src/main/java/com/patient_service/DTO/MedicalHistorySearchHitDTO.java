@@ -0,0 +1,18 @@
+package com.patient_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalHistorySearchHitDTO {
+    private Long id;
+    private Long patientId;
+    private String description;
+    private LocalDateTime recordedAt;
+    private double score; // BM25 relevance; only meaningful relative to other hits of the same query
+}
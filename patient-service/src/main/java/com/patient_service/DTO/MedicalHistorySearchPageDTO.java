@@ -0,0 +1,15 @@
+package com.patient_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalHistorySearchPageDTO {
+    private List<MedicalHistorySearchHitDTO> hits;
+    private int total;
+}
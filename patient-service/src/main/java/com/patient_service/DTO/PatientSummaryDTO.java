@@ -0,0 +1,22 @@
+package com.patient_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The fields a doctor sees for a patient; selected directly by JPQL constructor
+ * expression. Cached instances are shared between requests, so callers must not
+ * modify them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSummaryDTO {
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String bloodType;
+    private String emergencyContactName;
+    private String emergencyContactNumber;
+}
@@ -0,0 +1,44 @@
+package com.patient_service.DTO;
+
+import com.patient_service.entity.Patient;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+@Data
+@NoArgsConstructor
+public class PatientWithHistoryDTO {
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+    private String gender;
+    private String contactNumber;
+    private String address;
+    private String bloodType;
+    private String emergencyContactName;
+    private String emergencyContactNumber;
+    private String insuranceProvider;
+    private String insurancePolicyNumber;
+    private List<MedicalHistoryDTO> medicalHistory;
+
+    /** Copies the patient's own columns; never touches the lazy history collection. */
+    public PatientWithHistoryDTO(Patient patient, List<MedicalHistoryDTO> medicalHistory) {
+        this.userId = patient.getUserId();
+        this.firstName = patient.getFirstName();
+        this.lastName = patient.getLastName();
+        this.dateOfBirth = patient.getDateOfBirth();
+        this.gender = Objects.toString(patient.getGender(), null);
+        this.contactNumber = patient.getContactNumber();
+        this.address = patient.getAddress();
+        this.bloodType = patient.getBloodType();
+        this.emergencyContactName = patient.getEmergencyContactName();
+        this.emergencyContactNumber = patient.getEmergencyContactNumber();
+        this.insuranceProvider = patient.getInsuranceProvider();
+        this.insurancePolicyNumber = patient.getInsurancePolicyNumber();
+        this.medicalHistory = medicalHistory;
+    }
+}
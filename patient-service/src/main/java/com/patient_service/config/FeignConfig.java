@@ -0,0 +1,35 @@
+package com.patient_service.config;
+
+import feign.RequestInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Configuration
+public class FeignConfig {
+    /** Forwards the caller's bearer token so downstream services see the same user. */
+    @Bean
+    public RequestInterceptor authorizationForwarding() {
+        return template -> {
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                HttpServletRequest request = attributes.getRequest();
+                String authHeader = request.getHeader("Authorization");
+                if (authHeader != null) {
+                    template.header("Authorization", authHeader);
+                }
+            }
+        };
+    }
+
+    /** Closes pooled connections that have sat idle longer than the configured limit. */
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer idleConnectionEviction(
+            @Value("${feign.pool.idle-eviction-seconds:30}") long idleEvictionSeconds) {
+        return builder -> builder.evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds));
+    }
+}
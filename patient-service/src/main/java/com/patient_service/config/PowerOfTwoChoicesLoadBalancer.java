@@ -0,0 +1,115 @@
+package com.patient_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Power-of-two-choices balancer: samples two instances at random and sends
+ * the call to the one with fewer requests in flight from this node. As a
+ * {@link LoadBalancerLifecycle} it is told when each call starts and ends,
+ * which keeps the in-flight counts current. Counters of instances that have
+ * left the discovery list are dropped on the next choice.
+ * <p>
+ * Each service has its own copy, as the services share no library module;
+ * keep the copies identical.
+ */
+public class PowerOfTwoChoicesLoadBalancer
+        implements ReactorServiceInstanceLoadBalancer, LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+    private static final Logger logger = LoggerFactory.getLogger(PowerOfTwoChoicesLoadBalancer.class);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier;
+    private final String serviceId;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public PowerOfTwoChoicesLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> instanceListSupplier,
+            String serviceId) {
+        this.instanceListSupplier = instanceListSupplier;
+        this.serviceId = serviceId;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = instanceListSupplier.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (!inFlight.isEmpty()) {
+            Set<String> live = instances.stream().map(PowerOfTwoChoicesLoadBalancer::key).collect(Collectors.toSet());
+            inFlight.keySet().retainAll(live);
+        }
+        if (instances.isEmpty()) {
+            logger.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(inFlight(b) < inFlight(a) ? b : a);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse != null && lbResponse.hasServer()) {
+            counter(lbResponse.getServer()).incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse != null && lbResponse.hasServer()) {
+            // The counter is gone if the instance was pruned while the call was in flight.
+            AtomicInteger count = inFlight.get(key(lbResponse.getServer()));
+            if (count != null) {
+                count.updateAndGet(n -> Math.max(0, n - 1));
+            }
+        }
+    }
+
+    private int inFlight(ServiceInstance instance) {
+        AtomicInteger count = inFlight.get(key(instance));
+        return count == null ? 0 : count.get();
+    }
+
+    private AtomicInteger counter(ServiceInstance instance) {
+        return inFlight.computeIfAbsent(key(instance), key -> new AtomicInteger());
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+}
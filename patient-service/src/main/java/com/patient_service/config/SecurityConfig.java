@@ -38,6 +38,10 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**")
                         .permitAll()
+                        .requestMatchers("/api/patients/doctor/summary", "/api/patients/doctor/with-history",
+                                "/api/patients/summaries", "/api/patients/all-with-history",
+                                "/api/patients/medical-history/import", "/api/patients/medical-history/search")
+                        .hasRole("DOCTOR")
                         .requestMatchers("/api/**").hasRole("PATIENT")
                         .requestMatchers("/api/**").hasRole("DOCTOR")
                         .anyRequest().authenticated())
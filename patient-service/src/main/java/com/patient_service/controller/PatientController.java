@@ -1,20 +1,35 @@
 package com.patient_service.controller;
 
+import com.patient_service.DTO.MedicalHistoryEntryDTO;
+import com.patient_service.DTO.MedicalHistoryImportResultDTO;
+import com.patient_service.DTO.MedicalHistoryPageDTO;
+import com.patient_service.DTO.MedicalHistorySearchHitDTO;
+import com.patient_service.DTO.MedicalHistorySearchPageDTO;
+import com.patient_service.DTO.PatientHistoryPageDTO;
+import com.patient_service.DTO.PatientSummaryDTO;
+import com.patient_service.DTO.PatientWithHistoryDTO;
 import com.patient_service.entity.MedicalHistory;
 import com.patient_service.entity.Patient;
 import com.patient_service.exception.UnauthorizedException;
+import com.patient_service.service.MedicalHistoryImportService;
+import com.patient_service.service.MedicalHistorySearchService;
 import com.patient_service.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/patients")
@@ -23,6 +38,8 @@ import java.util.List;
 public class PatientController {
     private static final Logger logger = LoggerFactory.getLogger(PatientController.class);
     private final PatientService patientService;
+    private final MedicalHistoryImportService medicalHistoryImportService;
+    private final MedicalHistorySearchService medicalHistorySearchService;
 
     // @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
     @GetMapping("/me")
@@ -72,14 +89,78 @@ public class PatientController {
     @GetMapping("/doctor/summary")
     @PreAuthorize("hasAuthority('DOCTOR')")
     @Operation(summary = "Get patient summary", description = "Returns a concise patient summary for doctors")
-    public ResponseEntity<Patient> getPatientSummary(@RequestParam Long patientId) {
+    public ResponseEntity<PatientSummaryDTO> getPatientSummary(@RequestParam Long patientId) {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         logger.info("Authorities for current user: {}", authentication.getAuthorities());
         logger.info("Received request to get patient summary for patient ID: {}", patientId);
-        Patient summary = patientService.getPatientSummary(patientId);
+        PatientSummaryDTO summary = patientService.getPatientSummary(patientId);
         return new ResponseEntity<>(summary, HttpStatus.OK);
     }
 
+    @GetMapping("/doctor/with-history")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Get patient with medical history", description = "Returns a patient's profile and medical history, newest first, in one call; historyLimit keeps only the latest entries")
+    public ResponseEntity<PatientWithHistoryDTO> getPatientWithMedicalHistory(@RequestParam Long patientId,
+            @RequestParam(required = false) Integer historyLimit) {
+        logger.info("Received request to get patient with medical history for patient ID: {}", patientId);
+        PatientWithHistoryDTO patient = patientService.getPatientWithMedicalHistory(patientId, historyLimit);
+        return new ResponseEntity<>(patient, HttpStatus.OK);
+    }
+
+    @PostMapping("/summaries")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Get patient summaries", description = "Returns concise summaries for a set of patient IDs in one call; unknown IDs are omitted")
+    public ResponseEntity<List<PatientSummaryDTO>> getPatientSummaries(@RequestBody Set<Long> patientIds) {
+        logger.info("Received request to get summaries for {} patients", patientIds.size());
+        List<PatientSummaryDTO> summaries = patientService.getPatientSummaries(patientIds);
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/medical-history/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Import medical history", description = "Streams medical history entries (patientId, description, recordedAt) for the doctor's patients from an NDJSON or CSV body and reports throughput and rejected rows; rows for patients without an appointment with the doctor are rejected")
+    public ResponseEntity<MedicalHistoryImportResultDTO> importMedicalHistory(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        Long userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+        logger.info("Received request to import medical history as {}", contentType);
+        MedicalHistoryImportService.Format format = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                        ? MedicalHistoryImportService.Format.NDJSON
+                        : MedicalHistoryImportService.Format.CSV;
+        MedicalHistoryImportResultDTO result = medicalHistoryImportService.importMedicalHistory(body, format, userId,
+                role);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @GetMapping("/medical-history/search")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Search medical history", description = "Full-text search over the medical history of the doctor's patients; quote words to match a phrase. Returns one page of entries with their patient IDs, best match first, with the total in X-Total-Count")
+    public ResponseEntity<List<MedicalHistorySearchHitDTO>> searchMedicalHistory(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        Long userId = getCurrentUserId();
+        logger.info("Received request to search medical history: {}", q);
+        MedicalHistorySearchPageDTO result = medicalHistorySearchService.search(userId, q, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotal()))
+                .body(result.getHits());
+    }
+
+    @GetMapping("/all-with-history")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    @Operation(summary = "Get patients with medical history", description = "Returns a page of patients with their medical history in ID order; the next page's cursor is in the X-Next-Cursor header")
+    public ResponseEntity<List<PatientWithHistoryDTO>> getPatientsWithHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        logger.info("Received request to get patients with medical history");
+        PatientHistoryPageDTO page = patientService.getPatientsWithHistory(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getPatients());
+    }
+
     @PostMapping
     @PreAuthorize("hasAuthority('PATIENT')")
     @Operation(summary = "Create patient profile", description = "Creates a new patient profile")
@@ -92,11 +173,18 @@ public class PatientController {
     }
 
     @GetMapping("/me/medical-history")
-    public ResponseEntity<List<MedicalHistory>> getMedicalHistory() {
+    @Operation(summary = "Get medical history", description = "Returns the patient's medical history, newest first. Without cursor or limit the whole history is returned; otherwise one page, with the next page's cursor in the X-Next-Cursor header")
+    public ResponseEntity<List<MedicalHistoryEntryDTO>> getMedicalHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Long userId = getCurrentUserId();
         String role = getCurrentUserRole();
-        List<MedicalHistory> history = patientService.getMedicalHistory(userId, role);
-        return ResponseEntity.ok(history);
+        MedicalHistoryPageDTO page = patientService.getMedicalHistory(userId, role, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getEntries());
     }
 
     private Long getCurrentUserId() {
@@ -7,7 +7,9 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "medical_history")
+// InnoDB appends the primary key to secondary indexes, so this also serves
+// the (recorded_at, id) keyset order of a patient's history pages.
+@Table(name = "medical_history", indexes = @Index(name = "idx_medical_history_patient_recorded", columnList = "patient_id, recorded_at"))
 @Data
 public class MedicalHistory {
     @Id
@@ -0,0 +1,24 @@
+package com.patient_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class GlobalExceptionHandler {
+   @ExceptionHandler(ResourceNotFoundException.class)
+   public ResponseEntity<String> handleResourceNotFound(ResourceNotFoundException ex) {
+       return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+   }
+
+   @ExceptionHandler(UnauthorizedException.class)
+   public ResponseEntity<String> handleUnauthorized(UnauthorizedException ex) {
+       return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNAUTHORIZED);
+   }
+
+   @ExceptionHandler(IllegalArgumentException.class)
+   public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
+       return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+   }
+}
@@ -0,0 +1,14 @@
+package com.patient_service.feign;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.List;
+
+@FeignClient(name = "appointment-service", path = "/api/appointments")
+public interface AppointmentServiceClient {
+    /** Distinct IDs of the patients who have an appointment with the doctor. */
+    @GetMapping("/doctor/{doctorId}/patient-ids")
+    List<Long> getDoctorPatientIds(@PathVariable("doctorId") Long doctorId);
+}
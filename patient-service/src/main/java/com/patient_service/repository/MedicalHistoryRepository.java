@@ -1,15 +1,41 @@
 package com.patient_service.repository;
 
+import com.patient_service.DTO.MedicalHistoryDTO;
+import com.patient_service.DTO.MedicalHistoryEntryDTO;
 import com.patient_service.entity.MedicalHistory;
 import com.patient_service.entity.Patient;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MedicalHistoryRepository extends JpaRepository<MedicalHistory, Long> {
 
     List<MedicalHistory> findByPatient(Patient patient);
+
+    @Query("SELECT new com.patient_service.DTO.MedicalHistoryDTO(h.id, h.patient.userId, h.description, h.recordedAt) "
+            + "FROM MedicalHistory h WHERE h.patient.userId IN :patientIds ORDER BY h.patient.userId, h.recordedAt, h.id")
+    List<MedicalHistoryDTO> findHistoryByPatientIds(@Param("patientIds") Collection<Long> patientIds);
+
+    @Query("SELECT new com.patient_service.DTO.MedicalHistoryDTO(h.id, h.patient.userId, h.description, h.recordedAt) "
+            + "FROM MedicalHistory h WHERE h.id IN :ids")
+    List<MedicalHistoryDTO> findHistoryByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.patient_service.DTO.MedicalHistoryDTO(h.id, h.patient.userId, h.description, h.recordedAt) "
+            + "FROM MedicalHistory h WHERE h.id > :afterId ORDER BY h.id")
+    List<MedicalHistoryDTO> findHistoryAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.patient_service.DTO.MedicalHistoryEntryDTO(h.id, h.description, h.recordedAt) "
+            + "FROM MedicalHistory h WHERE h.patient.userId = :patientId "
+            + "AND (h.recordedAt < :beforeTime OR (h.recordedAt = :beforeTime AND h.id < :beforeId)) "
+            + "ORDER BY h.recordedAt DESC, h.id DESC")
+    List<MedicalHistoryEntryDTO> findPageBefore(@Param("patientId") Long patientId,
+            @Param("beforeTime") LocalDateTime beforeTime, @Param("beforeId") Long beforeId, Limit limit);
 }
\ No newline at end of file
@@ -1,9 +1,31 @@
 package com.patient_service.repository;
 
+import com.patient_service.DTO.PatientSummaryDTO;
 import com.patient_service.entity.Patient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
+    @Query("SELECT new com.patient_service.DTO.PatientSummaryDTO(p.userId, p.firstName, p.lastName, p.bloodType, "
+            + "p.emergencyContactName, p.emergencyContactNumber) FROM Patient p WHERE p.userId IN :ids")
+    List<PatientSummaryDTO> findSummariesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.userId FROM Patient p WHERE p.userId IN :ids")
+    List<Long> findExistingUserIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Patient p WHERE p.userId > :afterId ORDER BY p.userId")
+    List<Patient> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // One row per history entry, newest first, each carrying the patient; a
+    // patient without history yields a single row with null history columns.
+    @Query("SELECT p, h.id, h.description, h.recordedAt FROM Patient p LEFT JOIN p.medicalHistory h "
+            + "WHERE p.userId = :userId ORDER BY h.recordedAt DESC, h.id DESC")
+    List<Object[]> findWithHistory(@Param("userId") Long userId, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,285 @@
+package com.patient_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.patient_service.DTO.MedicalHistoryImportResultDTO;
+import com.patient_service.DTO.MedicalHistoryImportResultDTO.RowRejection;
+import com.patient_service.DTO.MedicalHistoryImportRowDTO;
+import com.patient_service.exception.UnauthorizedException;
+import com.patient_service.feign.AppointmentServiceClient;
+import com.patient_service.repository.PatientRepository;
+import com.patient_service.util.CsvReader;
+import com.patient_service.util.LineReader;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of medical history for many patients, used when a clinic moves
+ * onto the platform. The body is parsed one row at a time and never held in
+ * memory. Rows are collected into batches. Each batch checks its unknown
+ * patients with one IN query and is inserted with a single JDBC batch in its
+ * own transaction. If the upload breaks off, batches already written stay
+ * committed. A doctor may only import history for patients who have an
+ * appointment with them; rows for anyone else are rejected.
+ */
+@Service
+@RequiredArgsConstructor
+public class MedicalHistoryImportService {
+    private static final Logger logger = LoggerFactory.getLogger(MedicalHistoryImportService.class);
+    private static final String INSERT_SQL =
+            "INSERT INTO medical_history (patient_id, description, recorded_at) VALUES (?, ?, ?)";
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    // Bounds the patient lookup memo on very large imports
+    private static final int MAX_KNOWN_PATIENTS = 100_000;
+    private final PatientRepository patientRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MedicalHistorySearchService medicalHistorySearchService;
+    private final AppointmentServiceClient appointmentServiceClient;
+
+    @Value("${patient.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${patient.import.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    @Value("${patient.import.max-row-length:8192}")
+    private int maxRowLength;
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public MedicalHistoryImportResultDTO importMedicalHistory(InputStream body, Format format, Long doctorId,
+            String role) throws IOException {
+        if (!role.contains("DOCTOR")) {
+            throw new UnauthorizedException("Only doctors can import medical history");
+        }
+        logger.info("Importing medical history for doctor ID: {} from {} body", doctorId, format);
+        Set<Long> doctorPatients = new HashSet<>(appointmentServiceClient.getDoctorPatientIds(doctorId));
+        long started = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        RowSource source = format == Format.CSV ? new CsvRows(new CsvReader(reader, maxRowLength))
+                : new NdjsonRows(new LineReader(reader, maxRowLength));
+        Run run = new Run();
+
+        List<Row> batch = new ArrayList<>(batchSize);
+        for (Row row = source.next(); row != null; row = source.next()) {
+            String problem = row.problem != null ? row.problem : validateRow(row, doctorPatients);
+            if (problem != null) {
+                run.reject(row.line, problem);
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                writeBatch(batch, run);
+                batch.clear();
+            }
+        }
+        writeBatch(batch, run);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        double rowsPerSecond = elapsedMillis == 0 ? run.imported : run.imported * 1000.0 / elapsedMillis;
+        logger.info("Imported {} medical history entries and rejected {} in {} ms ({} rows/s)", run.imported,
+                run.rejected, elapsedMillis, Math.round(rowsPerSecond));
+        if (run.imported > 0) {
+            medicalHistorySearchService.catchUp();
+        }
+        return new MedicalHistoryImportResultDTO(run.imported, run.rejected, elapsedMillis, rowsPerSecond,
+                run.rejections, run.rejected > run.rejections.size());
+    }
+
+    private String validateRow(Row row, Set<Long> doctorPatients) {
+        if (row.patientId == null) {
+            return "Patient ID is required";
+        }
+        if (!doctorPatients.contains(row.patientId)) {
+            return "Patient " + row.patientId + " has no appointment with you";
+        }
+        if (row.description == null || row.description.isBlank()) {
+            return "Description is required";
+        }
+        if (row.description.length() > MAX_DESCRIPTION_LENGTH) {
+            return "Description is longer than " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private void writeBatch(List<Row> batch, Run run) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Long> unknown = batch.stream().map(row -> row.patientId)
+                .filter(id -> !run.knownPatients.containsKey(id)).distinct().toList();
+        if (!unknown.isEmpty()) {
+            if (run.knownPatients.size() + unknown.size() > MAX_KNOWN_PATIENTS) {
+                run.knownPatients.clear();
+            }
+            unknown.forEach(id -> run.knownPatients.put(id, false));
+            patientRepository.findExistingUserIds(unknown).forEach(id -> run.knownPatients.put(id, true));
+        }
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        List<Row> accepted = new ArrayList<>(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Row row : batch) {
+            if (!run.knownPatients.getOrDefault(row.patientId, false)) {
+                run.reject(row.line, "Patient not found with user ID: " + row.patientId);
+                continue;
+            }
+            rows.add(new Object[] { row.patientId, row.description,
+                    Timestamp.valueOf(row.recordedAt != null ? row.recordedAt : now) });
+            accepted.add(row);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            run.imported += rows.size();
+        } catch (DataAccessException e) {
+            // The whole batch was rolled back.
+            logger.warn("Failed to insert a batch of {} medical history entries", rows.size(), e);
+            accepted.forEach(row -> run.reject(row.line, "Batch insert failed; retry this row"));
+        }
+    }
+
+    private final class Run {
+        private final Map<Long, Boolean> knownPatients = new HashMap<>();
+        private final List<RowRejection> rejections = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new RowRejection(line, message));
+            }
+        }
+    }
+
+    // A parsed row, or the reason its line could not be parsed.
+    private record Row(long line, Long patientId, String description, LocalDateTime recordedAt, String problem) {
+        static Row rejected(long line, String problem) {
+            return new Row(line, null, null, null, problem);
+        }
+    }
+
+    private interface RowSource {
+        /** The next non-blank row, or null at the end of the body. */
+        Row next() throws IOException;
+    }
+
+    private final class NdjsonRows implements RowSource {
+        private final LineReader reader;
+        private long line;
+
+        private NdjsonRows(LineReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                line++;
+                try {
+                    text = reader.readLine();
+                } catch (IllegalArgumentException e) {
+                    return Row.rejected(line, e.getMessage());
+                }
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+            try {
+                MedicalHistoryImportRowDTO row = objectMapper.readValue(text, MedicalHistoryImportRowDTO.class);
+                return new Row(line, row.getPatientId(), row.getDescription(), row.getRecordedAt(), null);
+            } catch (JsonProcessingException e) {
+                return Row.rejected(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvRows implements RowSource {
+        private final CsvReader reader;
+        private int patientIdColumn = -1;
+        private int descriptionColumn = -1;
+        private int recordedAtColumn = -1;
+
+        private CsvRows(CsvReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "patientid" -> patientIdColumn = i;
+                    case "description" -> descriptionColumn = i;
+                    case "recordedat" -> recordedAtColumn = i;
+                    default -> {
+                    }
+                }
+            }
+            if (patientIdColumn < 0 || descriptionColumn < 0) {
+                throw new IllegalArgumentException("CSV header must name patientId and description columns");
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> fields;
+            do {
+                try {
+                    fields = reader.readRecord();
+                } catch (IllegalArgumentException e) {
+                    return Row.rejected(reader.getRecordLine(), e.getMessage());
+                }
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+            long line = reader.getRecordLine();
+            try {
+                String patientId = field(fields, patientIdColumn);
+                String recordedAt = field(fields, recordedAtColumn);
+                return new Row(line, patientId.isBlank() ? null : Long.valueOf(patientId.trim()),
+                        field(fields, descriptionColumn),
+                        recordedAt.isBlank() ? null : LocalDateTime.parse(recordedAt.trim()), null);
+            } catch (NumberFormatException e) {
+                return Row.rejected(line, "Invalid patient ID: " + field(fields, patientIdColumn));
+            } catch (DateTimeParseException e) {
+                return Row.rejected(line, "Invalid recordedAt: " + field(fields, recordedAtColumn));
+            }
+        }
+
+        private static String field(List<String> fields, int column) {
+            return column >= 0 && column < fields.size() ? fields.get(column) : "";
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.patient_service.service;
+
+import com.patient_service.DTO.MedicalHistoryDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Positional inverted index over medical history descriptions. Each term maps
+ * to the history entries containing it, sorted by entry ID, with the token
+ * positions at which it occurs, so quoted phrases are matched exactly. A
+ * result must match every query clause and is ranked by BM25.
+ * <p>
+ * Entries are added one at a time as they are written. A rebuild fills a new
+ * {@link Segment} outside the lock and swaps it in.
+ */
+@Component
+public class MedicalHistorySearchIndex {
+    private static final Pattern CLAUSE = Pattern.compile("\"([^\"]*)\"?|(\\S+)");
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::recordedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+    // Standard BM25 term-frequency saturation and length normalisation
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+
+    public record Hit(long id, long patientId, LocalDateTime recordedAt, double score) {
+    }
+
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    static Segment newSegment() {
+        return new Segment();
+    }
+
+    void swap(Segment rebuilt) {
+        lock.writeLock().lock();
+        try {
+            segment = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(MedicalHistoryDTO entry) {
+        lock.writeLock().lock();
+        try {
+            segment.add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds the entries not yet indexed and returns how many there were. */
+    long addAll(List<MedicalHistoryDTO> entries, long scannedUpTo) {
+        lock.writeLock().lock();
+        try {
+            return segment.addScanned(entries, scannedUpTo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Highest entry ID up to which the table has been scanned into the index. */
+    long getScannedUpTo() {
+        lock.readLock().lock();
+        try {
+            return segment.scannedUpTo;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches for {@code query} among the entries of {@code patientIds},
+     * skipping {@code offset} and returning at most {@code limit}. Quoted text is
+     * a phrase, as is an unquoted word that splits into several tokens (such as
+     * "beta-blocker").
+     */
+    public Result search(String query, Set<Long> patientIds, int offset, int limit) {
+        List<String[]> clauses = parse(query);
+        if (clauses.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            return segment.search(clauses, patientIds, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<String[]> parse(String query) {
+        List<String[]> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        Matcher matcher = CLAUSE.matcher(query);
+        while (matcher.find()) {
+            List<String> terms = tokenize(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            if (!terms.isEmpty()) {
+                clauses.add(terms.toArray(String[]::new));
+            }
+        }
+        return clauses;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    static final class Segment {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private long totalLength;
+        private long scannedUpTo;
+
+        boolean add(MedicalHistoryDTO entry) {
+            if (entry.getId() == null || docs.containsKey(entry.getId())) {
+                return false;
+            }
+            long id = entry.getId();
+            List<String> tokens = tokenize(entry.getDescription());
+            Map<String, int[]> positions = new HashMap<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                int[] found = positions.get(tokens.get(i));
+                found = found == null ? new int[] { i } : Arrays.copyOf(found, found.length + 1);
+                found[found.length - 1] = i;
+                positions.put(tokens.get(i), found);
+            }
+            positions.forEach((term, at) -> postings.computeIfAbsent(term, key -> new Postings()).add(id, at));
+            docs.put(id, new Doc(entry.getPatientId(), entry.getRecordedAt(), tokens.size()));
+            totalLength += tokens.size();
+            return true;
+        }
+
+        /**
+         * Adds scanned entries not yet indexed, recording how far the table scan
+         * has reached, and returns how many were added.
+         */
+        long addScanned(List<MedicalHistoryDTO> entries, long scannedUpTo) {
+            long added = entries.stream().filter(this::add).count();
+            this.scannedUpTo = Math.max(this.scannedUpTo, scannedUpTo);
+            return added;
+        }
+
+        private Result search(List<String[]> clauses, Set<Long> patientIds, int offset, int limit) {
+            List<Postings[]> clausePostings = new ArrayList<>(clauses.size());
+            double[] idf = new double[clauses.size()];
+            Postings driver = null;
+            for (int c = 0; c < clauses.size(); c++) {
+                String[] terms = clauses.get(c);
+                Postings[] lists = new Postings[terms.length];
+                int minDf = Integer.MAX_VALUE;
+                for (int t = 0; t < terms.length; t++) {
+                    lists[t] = postings.get(terms[t]);
+                    if (lists[t] == null) {
+                        return new Result(List.of(), 0);
+                    }
+                    minDf = Math.min(minDf, lists[t].size);
+                    if (driver == null || lists[t].size < driver.size) {
+                        driver = lists[t];
+                    }
+                }
+                clausePostings.add(lists);
+                // A phrase's document frequency is bounded by its rarest term's.
+                idf[c] = Math.log(1 + (docs.size() - minDf + 0.5) / (minDf + 0.5));
+            }
+
+            double averageLength = Math.max(1.0, (double) totalLength / docs.size());
+            List<Hit> hits = new ArrayList<>();
+            // Walk the shortest postings list and check every clause at each of its entries.
+            candidates:
+            for (int i = 0; i < driver.size; i++) {
+                long id = driver.docs[i];
+                Doc doc = docs.get(id);
+                if (!patientIds.contains(doc.patientId())) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * doc.length() / averageLength);
+                double score = 0;
+                for (int c = 0; c < clausePostings.size(); c++) {
+                    int frequency = frequency(clausePostings.get(c), id);
+                    if (frequency == 0) {
+                        continue candidates;
+                    }
+                    score += idf[c] * frequency * (K1 + 1) / (frequency + norm);
+                }
+                hits.add(new Hit(id, doc.patientId(), doc.recordedAt(), score));
+            }
+            hits.sort(RANKING);
+            int from = Math.min(offset, hits.size());
+            return new Result(List.copyOf(hits.subList(from, Math.min(hits.size(), from + limit))), hits.size());
+        }
+
+        // Occurrences of the clause's terms at consecutive positions in the entry.
+        private static int frequency(Postings[] terms, long id) {
+            int[] first = terms[0].positions(id);
+            if (first == null || terms.length == 1) {
+                return first == null ? 0 : first.length;
+            }
+            int[][] rest = new int[terms.length - 1][];
+            for (int t = 1; t < terms.length; t++) {
+                rest[t - 1] = terms[t].positions(id);
+                if (rest[t - 1] == null) {
+                    return 0;
+                }
+            }
+            int count = 0;
+            for (int start : first) {
+                boolean match = true;
+                for (int t = 0; t < rest.length && match; t++) {
+                    match = Arrays.binarySearch(rest[t], start + t + 1) >= 0;
+                }
+                if (match) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private record Doc(long patientId, LocalDateTime recordedAt, int length) {
+    }
+
+    // Entry IDs in ascending order with each entry's token positions for one term.
+    private static final class Postings {
+        private long[] docs = new long[4];
+        private int[][] positions = new int[4][];
+        private int size;
+
+        void add(long id, int[] at) {
+            // Entries mostly arrive in ID order, so this is usually an append.
+            int index = size == 0 || docs[size - 1] < id ? size : -(Arrays.binarySearch(docs, 0, size, id) + 1);
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            System.arraycopy(positions, index, positions, index + 1, size - index);
+            docs[index] = id;
+            positions[index] = at;
+            size++;
+        }
+
+        int[] positions(long id) {
+            int index = Arrays.binarySearch(docs, 0, size, id);
+            return index >= 0 ? positions[index] : null;
+        }
+    }
+}
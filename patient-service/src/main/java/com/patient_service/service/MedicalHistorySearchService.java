@@ -0,0 +1,126 @@
+package com.patient_service.service;
+
+import com.patient_service.DTO.MedicalHistoryDTO;
+import com.patient_service.DTO.MedicalHistorySearchHitDTO;
+import com.patient_service.DTO.MedicalHistorySearchPageDTO;
+import com.patient_service.feign.AppointmentServiceClient;
+import com.patient_service.repository.MedicalHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link MedicalHistorySearchIndex} in step with the medical_history
+ * table and answers searches from it. The index is rebuilt from the table on
+ * startup. Entries added through the API are indexed as they are saved. A
+ * periodic catch-up scan picks up rows written another way, such as bulk
+ * imports or other replicas. IDs are allocated before a transaction commits,
+ * so a row can become visible after a higher ID was already scanned; each
+ * catch-up therefore rescans a trailing window of IDs below the high-water
+ * mark. Searches only return entries of the requesting doctor's patients.
+ */
+@Service
+@RequiredArgsConstructor
+public class MedicalHistorySearchService {
+    private static final Logger logger = LoggerFactory.getLogger(MedicalHistorySearchService.class);
+    private static final int SCAN_PAGE_SIZE = 1000;
+    private final MedicalHistoryRepository medicalHistoryRepository;
+    private final MedicalHistorySearchIndex medicalHistorySearchIndex;
+    private final AppointmentServiceClient appointmentServiceClient;
+
+    @Value("${patient.search.rescan-window:10000}")
+    private long rescanWindow;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        MedicalHistorySearchIndex.Segment segment = MedicalHistorySearchIndex.newSegment();
+        long indexed = scan(0L, segment::addScanned);
+        medicalHistorySearchIndex.swap(segment);
+        logger.info("Medical history search index rebuilt with {} entries in {} ms", indexed,
+                System.currentTimeMillis() - started);
+        // Entries saved while the rebuild ran went into the old segment.
+        catchUp();
+    }
+
+    /** Indexes rows written since the last scan. */
+    @Scheduled(fixedDelayString = "${patient.search.catch-up-ms:60000}",
+            initialDelayString = "${patient.search.catch-up-ms:60000}")
+    public synchronized void catchUp() {
+        long from = Math.max(0L, medicalHistorySearchIndex.getScannedUpTo() - rescanWindow);
+        long added = scan(from, medicalHistorySearchIndex::addAll);
+        if (added > 0) {
+            logger.info("Indexed {} new medical history entries", added);
+        }
+    }
+
+    public void index(MedicalHistoryDTO entry) {
+        medicalHistorySearchIndex.add(entry);
+    }
+
+    /**
+     * One page of the doctor's patients' entries matching {@code query}, best
+     * match first. Only the page's descriptions are read from the database, by
+     * primary key.
+     */
+    public MedicalHistorySearchPageDTO search(Long doctorId, String query, int page, int size) {
+        logger.info("Searching medical history for '{}', page {} of size {}", query, page, size);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must not be empty");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Size must be between 1 and 100");
+        }
+        Set<Long> patientIds = new HashSet<>(appointmentServiceClient.getDoctorPatientIds(doctorId));
+        long offset = (long) page * size;
+        MedicalHistorySearchIndex.Result result = medicalHistorySearchIndex.search(query, patientIds,
+                (int) Math.min(offset, Integer.MAX_VALUE), size);
+        if (result.hits().isEmpty()) {
+            return new MedicalHistorySearchPageDTO(List.of(), result.total());
+        }
+        Map<Long, MedicalHistoryDTO> entries = medicalHistoryRepository
+                .findHistoryByIds(result.hits().stream().map(MedicalHistorySearchIndex.Hit::id).toList()).stream()
+                .collect(Collectors.toMap(MedicalHistoryDTO::getId, Function.identity()));
+        List<MedicalHistorySearchHitDTO> hits = result.hits().stream()
+                .filter(hit -> entries.containsKey(hit.id()))
+                .map(hit -> new MedicalHistorySearchHitDTO(hit.id(), hit.patientId(),
+                        entries.get(hit.id()).getDescription(), hit.recordedAt(), hit.score()))
+                .toList();
+        return new MedicalHistorySearchPageDTO(hits, result.total());
+    }
+
+    // Reads the table in ID order after afterId, a page at a time; returns the number of rows indexed.
+    private long scan(long afterId, PageSink sink) {
+        long count = 0;
+        while (true) {
+            List<MedicalHistoryDTO> page = medicalHistoryRepository.findHistoryAfter(afterId,
+                    Limit.of(SCAN_PAGE_SIZE));
+            if (page.isEmpty()) {
+                return count;
+            }
+            afterId = page.get(page.size() - 1).getId();
+            count += sink.accept(page, afterId);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageSink {
+        long accept(List<MedicalHistoryDTO> page, long scannedUpTo);
+    }
+}
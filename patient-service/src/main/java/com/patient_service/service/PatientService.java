@@ -1,5 +1,11 @@
 package com.patient_service.service;
 
+import com.patient_service.DTO.MedicalHistoryDTO;
+import com.patient_service.DTO.MedicalHistoryEntryDTO;
+import com.patient_service.DTO.MedicalHistoryPageDTO;
+import com.patient_service.DTO.PatientHistoryPageDTO;
+import com.patient_service.DTO.PatientSummaryDTO;
+import com.patient_service.DTO.PatientWithHistoryDTO;
 import com.patient_service.entity.MedicalHistory;
 import com.patient_service.entity.Patient;
 import com.patient_service.exception.ResourceNotFoundException;
@@ -7,21 +13,39 @@ import com.patient_service.exception.UnauthorizedException;
 import com.patient_service.feign.UserServiceClient;
 import com.patient_service.repository.MedicalHistoryRepository;
 import com.patient_service.repository.PatientRepository;
+import com.patient_service.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PatientService {
     private static final Logger logger = LoggerFactory.getLogger(PatientService.class);
+    // Open upper bound for the first history page, kept inside MySQL's DATETIME range.
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
     private final PatientRepository patientRepository;
     private final MedicalHistoryRepository medicalHistoryRepository;
     private final UserServiceClient userServiceClient;
+    private final PatientSummaryCache patientSummaryCache;
+    private final MedicalHistorySearchService medicalHistorySearchService;
+
+    @Value("${patient.page.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${patient.page.max-size:500}")
+    private int maxPageSize;
 
     public Patient getPatientProfile(Long userId, String role) {
         logger.info("Fetching patient profile for user ID: {}", userId);
@@ -49,7 +73,9 @@ public class PatientService {
         patient.setBloodType(updatedPatient.getBloodType());
         patient.setInsuranceProvider(updatedPatient.getInsuranceProvider());
         patient.setInsurancePolicyNumber(updatedPatient.getInsurancePolicyNumber());
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        patientSummaryCache.put(saved);
+        return saved;
     }
 
     public MedicalHistory addMedicalHistory(Long userId, String description, String role) {
@@ -63,7 +89,10 @@ public class PatientService {
         history.setPatient(patient);
         history.setDescription(description);
         history.setRecordedAt(LocalDateTime.now());
-        return medicalHistoryRepository.save(history);
+        MedicalHistory saved = medicalHistoryRepository.save(history);
+        medicalHistorySearchService.index(new MedicalHistoryDTO(saved.getId(), userId, saved.getDescription(),
+                saved.getRecordedAt()));
+        return saved;
     }
 
     public Patient updateEmergencyContact(Long userId, String name, String number, String role) {
@@ -75,21 +104,25 @@ public class PatientService {
                 .orElseThrow(() -> new ResourceNotFoundException("Patient not found with user ID: " + userId));
         patient.setEmergencyContactName(name);
         patient.setEmergencyContactNumber(number);
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        patientSummaryCache.put(saved);
+        return saved;
     }
 
-    public Patient getPatientSummary(Long userId) {
+    public PatientSummaryDTO getPatientSummary(Long userId) {
         logger.info("Fetching patient summary for user ID: {}", userId);
-        Patient patient = patientRepository.findById(userId)
+        return patientSummaryCache.get(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient not found with user ID: " + userId));
-        Patient summary = new Patient();
-        summary.setUserId(patient.getUserId());
-        summary.setFirstName(patient.getFirstName());
-        summary.setLastName(patient.getLastName());
-        summary.setBloodType(patient.getBloodType());
-        summary.setEmergencyContactName(patient.getEmergencyContactName());
-        summary.setEmergencyContactNumber(patient.getEmergencyContactNumber());
-        return summary;
+    }
+
+    /**
+     * Summaries for a set of patients, from the summary cache where possible.
+     * Unknown IDs are skipped rather than failing the whole batch.
+     */
+    public List<PatientSummaryDTO> getPatientSummaries(Collection<Long> patientIds) {
+        List<Long> ids = patientIds.stream().filter(Objects::nonNull).distinct().toList();
+        logger.info("Fetching patient summaries for {} patients", ids.size());
+        return List.copyOf(patientSummaryCache.getAll(ids));
     }
 
     // Validate user with User Service
@@ -118,29 +151,123 @@ public class PatientService {
         // Set the user ID for the patient profile
         patient.setUserId(userId);
 
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        patientSummaryCache.put(saved);
+        return saved;
     }
 
-    public List<MedicalHistory> getMedicalHistory(Long userId, String role) {
+    /**
+     * One page of a patient's medical history, newest first, read straight from
+     * the (patient_id, recorded_at) index without loading the patient. The
+     * cursor is the (recordedAt, id) position of the last entry on the previous
+     * page.
+     */
+    public MedicalHistoryPageDTO getMedicalHistory(Long userId, String role, String cursor, Integer limit) {
         logger.info("Fetching medical history for user ID: {}", userId);
         if (!role.contains("PATIENT")) {
             throw new UnauthorizedException("Only patients can access their medical history");
         }
-        Patient patient = patientRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with user ID: " + userId));
-        List<MedicalHistory> history = medicalHistoryRepository.findByPatient(patient);
-        if (history.isEmpty()) {
-            throw new ResourceNotFoundException("No medical history found for patient with user ID: " + userId);
+        boolean firstPage = cursor == null || cursor.isBlank();
+        // Paging is opt-in: without a cursor or limit the whole history comes back in one response.
+        if (firstPage && limit == null) {
+            List<MedicalHistoryEntryDTO> rows = medicalHistoryRepository.findPageBefore(userId, MAX_TIME,
+                    Long.MAX_VALUE, Limit.unlimited());
+            if (rows.isEmpty()) {
+                throw historyNotFound(userId);
+            }
+            return new MedicalHistoryPageDTO(rows, null);
+        }
+        int size = limit == null ? defaultPageSize : limit;
+        if (size <= 0 || size > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        LocalDateTime beforeTime = MAX_TIME;
+        Long beforeId = Long.MAX_VALUE;
+        if (!firstPage) {
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            beforeTime = position.time();
+            beforeId = position.id();
+        }
+
+        // Fetch one extra row to learn whether another page follows.
+        List<MedicalHistoryEntryDTO> rows = medicalHistoryRepository.findPageBefore(userId, beforeTime, beforeId,
+                Limit.of(size + 1));
+        if (rows.isEmpty() && firstPage) {
+            throw historyNotFound(userId);
+        }
+        if (rows.size() <= size) {
+            return new MedicalHistoryPageDTO(rows, null);
         }
-        return history;
+        List<MedicalHistoryEntryDTO> page = rows.subList(0, size);
+        MedicalHistoryEntryDTO last = page.get(size - 1);
+        return new MedicalHistoryPageDTO(page, CursorUtil.encode(last.getRecordedAt(), last.getId()));
     }
+
+    private ResourceNotFoundException historyNotFound(Long userId) {
+        if (!patientRepository.existsById(userId)) {
+            return new ResourceNotFoundException("Patient not found with user ID: " + userId);
+        }
+        return new ResourceNotFoundException("No medical history found for patient with user ID: " + userId);
+    }
+
     public List<Patient> getAllPatients() {
         logger.info("Fetching all patients");
         return patientRepository.findAll();
     }
 
-    public Patient getPatientWithMedicalHistory(Long patientId) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getPatientWithMedicalHistory'");
+    /**
+     * One page of patients in ID order with their medical history. Each page
+     * costs two queries, one for the patients and one for all of their
+     * history entries, whatever the page size. The cursor is the last
+     * patient ID of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public PatientHistoryPageDTO getPatientsWithHistory(String cursor, Integer limit) {
+        int size = limit == null ? defaultPageSize : limit;
+        if (size <= 0 || size > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        long afterId = cursor == null || cursor.isBlank() ? Long.MIN_VALUE : Long.parseLong(cursor);
+        logger.info("Fetching {} patients with medical history after ID: {}", size, afterId);
+
+        List<Patient> patients = patientRepository.findPageAfter(afterId, Limit.of(size + 1));
+        boolean hasMore = patients.size() > size;
+        if (hasMore) {
+            patients = patients.subList(0, size);
+        }
+        if (patients.isEmpty()) {
+            return new PatientHistoryPageDTO(List.of(), null);
+        }
+        Map<Long, List<MedicalHistoryDTO>> history = medicalHistoryRepository
+                .findHistoryByPatientIds(patients.stream().map(Patient::getUserId).toList()).stream()
+                .collect(Collectors.groupingBy(MedicalHistoryDTO::getPatientId));
+        List<PatientWithHistoryDTO> page = patients.stream()
+                .map(patient -> new PatientWithHistoryDTO(patient,
+                        history.getOrDefault(patient.getUserId(), List.of())))
+                .toList();
+        String nextCursor = hasMore ? String.valueOf(patients.get(patients.size() - 1).getUserId()) : null;
+        return new PatientHistoryPageDTO(page, nextCursor);
+    }
+
+    /**
+     * A patient's full chart, newest history first, from a single join query.
+     * A history limit keeps only the latest entries and is applied in SQL.
+     */
+    @Transactional(readOnly = true)
+    public PatientWithHistoryDTO getPatientWithMedicalHistory(Long patientId, Integer historyLimit) {
+        logger.info("Fetching patient with medical history for patient ID: {}", patientId);
+        if (historyLimit != null && historyLimit <= 0) {
+            throw new IllegalArgumentException("History limit must be positive");
+        }
+        List<Object[]> rows = patientRepository.findWithHistory(patientId,
+                historyLimit == null ? Limit.unlimited() : Limit.of(historyLimit));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Patient not found with user ID: " + patientId);
+        }
+        List<MedicalHistoryDTO> history = rows.stream()
+                .filter(row -> row[1] != null)
+                .map(row -> new MedicalHistoryDTO((Long) row[1], patientId, (String) row[2], (LocalDateTime) row[3]))
+                .toList();
+        return new PatientWithHistoryDTO((Patient) rows.get(0)[0], history);
     }
 }
\ No newline at end of file
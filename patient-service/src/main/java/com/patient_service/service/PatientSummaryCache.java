@@ -0,0 +1,72 @@
+package com.patient_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.patient_service.DTO.PatientSummaryDTO;
+import com.patient_service.entity.Patient;
+import com.patient_service.repository.PatientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded cache of patient summaries keyed by user ID, so repeat chart opens
+ * are served from memory. PatientService writes every profile change through
+ * with {@link #put(Patient)}. The TTL bounds how long another instance's
+ * writes can go unseen. Unknown IDs are never cached. Hit and miss counts are
+ * published as {@code cache.*} meters.
+ */
+@Component
+public class PatientSummaryCache {
+    // Keeps each IN list well inside MySQL's packet and optimizer limits
+    private static final int QUERY_CHUNK = 1000;
+
+    private final PatientRepository patientRepository;
+    private final Cache<Long, PatientSummaryDTO> summaries;
+
+    public PatientSummaryCache(PatientRepository patientRepository, MeterRegistry meterRegistry,
+            @Value("${patient.summary-cache.max-size:50000}") long maxSize,
+            @Value("${patient.summary-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.patientRepository = patientRepository;
+        this.summaries = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .<Long, PatientSummaryDTO>build(), "patientSummary");
+    }
+
+    public Optional<PatientSummaryDTO> get(Long userId) {
+        return Optional.ofNullable(summaries.get(userId, id -> load(Set.of(id)).get(id)));
+    }
+
+    /** Summaries for the given IDs in one IN query per thousand cache misses; unknown IDs are skipped. */
+    public Collection<PatientSummaryDTO> getAll(Collection<Long> userIds) {
+        return summaries.getAll(userIds, this::load).values();
+    }
+
+    public void put(Patient patient) {
+        summaries.put(patient.getUserId(), new PatientSummaryDTO(patient.getUserId(), patient.getFirstName(),
+                patient.getLastName(), patient.getBloodType(), patient.getEmergencyContactName(),
+                patient.getEmergencyContactNumber()));
+    }
+
+    private Map<Long, PatientSummaryDTO> load(Set<? extends Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        Map<Long, PatientSummaryDTO> loaded = new HashMap<>(ids.size());
+        for (int i = 0; i < ids.size(); i += QUERY_CHUNK) {
+            patientRepository.findSummariesByUserIdIn(ids.subList(i, Math.min(ids.size(), i + QUERY_CHUNK)))
+                    .forEach(summary -> loaded.put(summary.getUserId(), summary));
+        }
+        return loaded;
+    }
+}
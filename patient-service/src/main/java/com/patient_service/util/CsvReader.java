@@ -0,0 +1,114 @@
+package com.patient_service.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time from a character stream, so large
+ * uploads are never held in memory. Quoted fields may contain commas, doubled
+ * quotes and line breaks; a leading byte order mark is skipped. A record longer
+ * than the configured limit is read to its end without being buffered and then
+ * rejected, so an unterminated quote cannot exhaust memory.
+ */
+public final class CsvReader {
+    private final Reader in;
+    private final int maxRecordLength;
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    public CsvReader(Reader in, int maxRecordLength) {
+        this.in = in;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * The next record's fields, or null at the end of the stream. A malformed
+     * or overlong record is consumed and reported with an
+     * {@link IllegalArgumentException}; the following call reads the next one.
+     */
+    public List<String> readRecord() throws IOException {
+        recordLine = line;
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        // Past the limit the record is still scanned to its end, but no longer buffered.
+        boolean tooLong = false;
+        int length = 0;
+        while (true) {
+            if (!tooLong && ++length > maxRecordLength) {
+                tooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException(tooLong ? tooLong() : "Unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                append(field, c, tooLong);
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                if (!tooLong) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '\n' || c == -1) {
+                if (tooLong) {
+                    throw new IllegalArgumentException(tooLong());
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                append(field, c, tooLong);
+                fieldStarted = true;
+            }
+            c = read();
+        }
+    }
+
+    /** The 1-based line on which the last record returned by {@link #readRecord()} started. */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c = in.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private static void append(StringBuilder field, int c, boolean tooLong) {
+        if (!tooLong) {
+            field.append((char) c);
+        }
+    }
+
+    private String tooLong() {
+        return "Record is longer than " + maxRecordLength + " characters";
+    }
+}
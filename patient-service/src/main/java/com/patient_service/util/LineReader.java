@@ -0,0 +1,49 @@
+package com.patient_service.util;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads newline-terminated lines from a character stream with a cap on their
+ * length. The rest of an overlong line is skipped without being buffered, so a
+ * body without line breaks cannot exhaust memory.
+ */
+public final class LineReader {
+    private final Reader in;
+    private final int maxLineLength;
+
+    public LineReader(Reader in, int maxLineLength) {
+        this.in = in;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * The next line without its terminator, or null at the end of the stream.
+     * An overlong line is consumed and reported with an
+     * {@link IllegalArgumentException}; the following call reads the next one.
+     */
+    public String readLine() throws IOException {
+        StringBuilder text = new StringBuilder();
+        boolean tooLong = false;
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (!tooLong) {
+                if (text.length() == maxLineLength) {
+                    tooLong = true;
+                    text.setLength(0);
+                } else {
+                    text.append((char) c);
+                }
+            }
+            c = in.read();
+        }
+        if (tooLong) {
+            throw new IllegalArgumentException("Line is longer than " + maxLineLength + " characters");
+        }
+        int end = text.length();
+        return end > 0 && text.charAt(end - 1) == '\r' ? text.substring(0, end - 1) : text.toString();
+    }
+}
@@ -0,0 +1,132 @@
+package com.patient_service.service;
+
+import com.patient_service.DTO.MedicalHistoryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MedicalHistorySearchIndexTest {
+    private static final Set<Long> ALL = Set.of(1L, 2L, 3L);
+    private static final LocalDateTime RECORDED = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    private final MedicalHistorySearchIndex index = new MedicalHistorySearchIndex();
+
+    @Test
+    void quotedPhraseMustAppearInOrder() {
+        add(1, 1, "chest pain after exercise");
+        add(2, 1, "pain in the chest");
+
+        assertEquals(List.of(1L), ids("\"chest pain\""));
+        assertEquals(List.of(1L, 2L), sorted(ids("chest pain")));
+        // An unclosed quote runs to the end of the query.
+        assertEquals(List.of(1L), ids("\"pain after"));
+    }
+
+    @Test
+    void hyphenatedWordIsAPhrase() {
+        add(1, 1, "Started Beta-Blocker therapy");
+        add(2, 1, "blocker, beta");
+
+        assertEquals(List.of(1L), ids("beta-blocker"));
+        assertEquals(List.of("started", "beta", "blocker", "therapy"),
+                MedicalHistorySearchIndex.tokenize("Started Beta-Blocker therapy"));
+    }
+
+    @Test
+    void everyClauseMustMatch() {
+        add(1, 1, "asthma inhaler");
+        add(2, 1, "asthma");
+
+        assertEquals(List.of(1L), ids("asthma inhaler"));
+        assertEquals(List.of(), ids("asthma fracture"));
+        assertEquals(List.of(), ids("  "));
+    }
+
+    @Test
+    void shorterEntryRanksFirstForTheSameTermFrequency() {
+        add(1, 1, "asthma with seasonal allergies getting worse");
+        add(2, 1, "asthma");
+
+        assertEquals(List.of(2L, 1L), ids("asthma"));
+    }
+
+    @Test
+    void higherTermFrequencyRanksFirstForTheSameLength() {
+        add(1, 1, "asthma mild flare");
+        add(2, 1, "asthma asthma flare");
+
+        assertEquals(List.of(2L, 1L), ids("asthma"));
+    }
+
+    @Test
+    void repeatingTheRarerTermCountsForMore() {
+        add(1, 1, "fever fever cough");
+        add(2, 1, "cough cough fever");
+        add(3, 1, "cough");
+        add(4, 1, "cough");
+
+        assertEquals(List.of(1L, 2L), ids("cough fever"));
+    }
+
+    @Test
+    void equalScoresAreOrderedByMostRecentThenHighestId() {
+        index.add(new MedicalHistoryDTO(1L, 1L, "migraine", RECORDED));
+        index.add(new MedicalHistoryDTO(2L, 1L, "migraine", RECORDED.plusDays(1)));
+        index.add(new MedicalHistoryDTO(3L, 1L, "migraine", RECORDED));
+        index.add(new MedicalHistoryDTO(4L, 1L, "migraine", null));
+
+        assertEquals(List.of(2L, 3L, 1L, 4L), ids("migraine"));
+    }
+
+    @Test
+    void onlyTheGivenPatientsEntriesAreReturned() {
+        add(1, 1, "migraine");
+        add(2, 2, "migraine");
+        add(3, 3, "migraine");
+
+        MedicalHistorySearchIndex.Result result = index.search("migraine", Set.of(1L, 3L), 0, 10);
+        assertEquals(2, result.total());
+        assertEquals(Set.of(1L, 3L), Set.copyOf(result.hits().stream().map(MedicalHistorySearchIndex.Hit::patientId)
+                .toList()));
+    }
+
+    @Test
+    void pagesThroughHitsWithTheFullTotal() {
+        for (long id = 1; id <= 5; id++) {
+            add(id, 1, "migraine");
+        }
+
+        MedicalHistorySearchIndex.Result page = index.search("migraine", ALL, 2, 2);
+        assertEquals(5, page.total());
+        assertEquals(List.of(3L, 2L), page.hits().stream().map(MedicalHistorySearchIndex.Hit::id).toList());
+        assertEquals(List.of(), index.search("migraine", ALL, 10, 2).hits());
+    }
+
+    @Test
+    void entriesAddedOutOfIdOrderAreStillFound() {
+        add(5, 1, "knee sprain");
+        add(3, 1, "knee sprain again");
+        add(4, 1, "ankle sprain");
+        add(3, 1, "duplicate ignored");
+
+        assertEquals(List.of(3L, 5L), sorted(ids("\"knee sprain\"")));
+        assertEquals(List.of(), ids("duplicate"));
+        assertEquals(3, index.size());
+    }
+
+    private void add(long id, long patientId, String description) {
+        index.add(new MedicalHistoryDTO(id, patientId, description, RECORDED));
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, ALL, 0, 10).hits().stream().map(MedicalHistorySearchIndex.Hit::id).toList();
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
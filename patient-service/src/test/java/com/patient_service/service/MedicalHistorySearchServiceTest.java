@@ -0,0 +1,78 @@
+package com.patient_service.service;
+
+import com.patient_service.DTO.MedicalHistoryDTO;
+import com.patient_service.DTO.MedicalHistorySearchHitDTO;
+import com.patient_service.feign.AppointmentServiceClient;
+import com.patient_service.repository.MedicalHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MedicalHistorySearchServiceTest {
+    private static final long DOCTOR = 7L;
+
+    // Rows visible to readers, i.e. committed, keyed by ID
+    private final Map<Long, MedicalHistoryDTO> committed = new TreeMap<>();
+    private final MedicalHistoryRepository repository = mock(MedicalHistoryRepository.class);
+    private final AppointmentServiceClient appointments = mock(AppointmentServiceClient.class);
+    private final MedicalHistorySearchService service = new MedicalHistorySearchService(repository,
+            new MedicalHistorySearchIndex(), appointments);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "rescanWindow", 100L);
+        when(repository.findHistoryAfter(anyLong(), any(Limit.class))).thenAnswer(call -> {
+            long afterId = call.getArgument(0);
+            int max = call.<Limit>getArgument(1).max();
+            return committed.values().stream().filter(row -> row.getId() > afterId).limit(max).toList();
+        });
+        when(repository.findHistoryByIds(any())).thenAnswer(call -> call.<Collection<Long>>getArgument(0).stream()
+                .map(committed::get).toList());
+        when(appointments.getDoctorPatientIds(DOCTOR)).thenReturn(List.of(1L, 2L));
+    }
+
+    @Test
+    void rowCommittedAfterAHigherIdWasScannedIsStillIndexed() {
+        commit(1, 1, "seasonal asthma");
+        service.rebuild();
+        // ID 2 is allocated first but its transaction commits after ID 3 has been scanned.
+        commit(3, 1, "asthma follow-up");
+        service.catchUp();
+        commit(2, 2, "asthma inhaler prescribed");
+        service.catchUp();
+
+        assertEquals(List.of(1L, 2L, 3L), ids(service.search(DOCTOR, "asthma", 0, 10).getHits()));
+    }
+
+    @Test
+    void searchOnlyReturnsTheDoctorsPatients() {
+        commit(1, 1, "migraine");
+        commit(2, 3, "migraine with aura");
+        commit(3, 2, "chronic migraine");
+        service.rebuild();
+
+        assertEquals(List.of(1L, 3L), ids(service.search(DOCTOR, "migraine", 0, 10).getHits()));
+        assertEquals(2, service.search(DOCTOR, "migraine", 0, 10).getTotal());
+    }
+
+    private void commit(long id, long patientId, String description) {
+        committed.put(id, new MedicalHistoryDTO(id, patientId, description, LocalDateTime.of(2030, 1, 1, 9, 0)));
+    }
+
+    private static List<Long> ids(List<MedicalHistorySearchHitDTO> hits) {
+        return hits.stream().map(MedicalHistorySearchHitDTO::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.patient_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainFieldsAndStripsCarriageReturns() throws IOException {
+        CsvReader csv = reader("patientId,description\r\n1,asthma\r\n", 100);
+
+        assertEquals(List.of("patientId", "description"), csv.readRecord());
+        assertEquals(List.of("1", "asthma"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader csv = reader("1,\"asthma, mild\",\"said \"\"better\"\"\"\n2,\"line one\nline two\",\n", 100);
+
+        assertEquals(List.of("1", "asthma, mild", "said \"better\""), csv.readRecord());
+        assertEquals(List.of("2", "line one\nline two", ""), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsLiteral() throws IOException {
+        assertEquals(List.of("5\" tall", "x"), reader("5\" tall,x", 100).readRecord());
+    }
+
+    @Test
+    void skipsALeadingByteOrderMark() throws IOException {
+        assertEquals(List.of("patientId"), reader("\uFEFFpatientId\n", 100).readRecord());
+    }
+
+    @Test
+    void reportsTheLineEachRecordStartsOn() throws IOException {
+        CsvReader csv = reader("a\n\"b\nc\"\nd\n", 100);
+
+        csv.readRecord();
+        assertEquals(1, csv.getRecordLine());
+        csv.readRecord();
+        assertEquals(2, csv.getRecordLine());
+        csv.readRecord();
+        assertEquals(4, csv.getRecordLine());
+    }
+
+    @Test
+    void overlongRecordIsRejectedAndTheNextOneIsRead() throws IOException {
+        CsvReader csv = reader("1,short\n2,\"far too long,\nstill quoted\"\n3,ok\n", 10);
+
+        assertEquals(List.of("1", "short"), csv.readRecord());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, csv::readRecord);
+        assertEquals("Record is longer than 10 characters", e.getMessage());
+        assertEquals(List.of("3", "ok"), csv.readRecord());
+        assertEquals(4, csv.getRecordLine());
+    }
+
+    @Test
+    void recordOfExactlyTheLimitIsAccepted() throws IOException {
+        // The terminating newline counts towards the limit.
+        assertEquals(List.of("1234", "678"), reader("1234,678\n", 9).readRecord());
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuote() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> reader("1,\"never closed\n2,x\n", 100).readRecord());
+        assertEquals("Unterminated quoted field", e.getMessage());
+    }
+
+    private static CsvReader reader(String text, int maxRecordLength) {
+        return new CsvReader(new StringReader(text), maxRecordLength);
+    }
+}
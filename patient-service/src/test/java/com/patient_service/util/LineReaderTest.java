@@ -0,0 +1,42 @@
+package com.patient_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LineReaderTest {
+
+    @Test
+    void readsLinesWithEitherTerminator() throws IOException {
+        LineReader lines = new LineReader(new StringReader("{\"a\":1}\r\n\n{\"b\":2}"), 100);
+
+        assertEquals("{\"a\":1}", lines.readLine());
+        assertEquals("", lines.readLine());
+        assertEquals("{\"b\":2}", lines.readLine());
+        assertNull(lines.readLine());
+    }
+
+    @Test
+    void overlongLineIsRejectedAndTheNextOneIsRead() throws IOException {
+        LineReader lines = new LineReader(new StringReader("12345\n123456\nok\n"), 5);
+
+        assertEquals("12345", lines.readLine());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, lines::readLine);
+        assertEquals("Line is longer than 5 characters", e.getMessage());
+        assertEquals("ok", lines.readLine());
+        assertNull(lines.readLine());
+    }
+
+    @Test
+    void overlongFinalLineWithoutTerminatorIsRejected() throws IOException {
+        LineReader lines = new LineReader(new StringReader("x".repeat(1000)), 10);
+
+        assertThrows(IllegalArgumentException.class, lines::readLine);
+        assertNull(lines.readLine());
+    }
+}